@@ -0,0 +1,48 @@
+package com.shantanu.LoanFlow.AuthService.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Logs JFR jdk.VirtualThreadPinned events while trying out virtual-thread mode. Needs both
+// spring.threads.virtual.enabled and auth.virtual-threads.diagnostics.enabled. LoanService's monitor
+// also probes JDBC and prints stack frames; the stack trace here is in the event itself.
+@Component
+@Slf4j
+@ConditionalOnProperty(name = {"spring.threads.virtual.enabled", "auth.virtual-threads.diagnostics.enabled"},
+        havingValue = "true")
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    @Value("${auth.virtual-threads.pinning-threshold:PT0.02S}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::report);
+        stream.startAsync();
+        log.info("Virtual-thread mode: pinning monitor active (threshold {})", threshold);
+    }
+
+    private void report(RecordedEvent event) {
+        log.warn("Virtual thread pinned its carrier for {} ms: {}", event.getDuration().toMillis(), event);
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+-- Random (v4) vs time-ordered (v7) primary keys: insert time and primary-key index size.
+-- Run against a scratch database:  psql -d loanservice_bench -f benchmark/uuid-insert-benchmark.sql
+-- Override the row count with:      psql -v rows=10000000 ...
+\if :{?rows}
+\else
+\set rows 5000000
+\endif
+\set batch 1000
+\timing on
+
+-- Same bit layout as com.shantanu.LoanFlow.LoanService.util.UuidV7 (without the in-millisecond sequence)
+CREATE OR REPLACE FUNCTION pg_temp.uuid_v7() RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send((extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+DROP TABLE IF EXISTS bench_repayments_v4, bench_repayments_v7;
+CREATE TABLE bench_repayments_v4 (id uuid PRIMARY KEY, loan_id uuid NOT NULL, amount numeric(38, 2) NOT NULL);
+CREATE TABLE bench_repayments_v7 (id uuid PRIMARY KEY, loan_id uuid NOT NULL, amount numeric(38, 2) NOT NULL);
+
+-- Insert in committed batches to mimic the service's JDBC batches rather than one giant statement
+CREATE OR REPLACE PROCEDURE pg_temp.fill(target text, total_rows bigint, batch_size int) AS $$
+DECLARE
+    done bigint := 0;
+    key_fn text := CASE WHEN target LIKE '%v7' THEN 'pg_temp.uuid_v7()' ELSE 'gen_random_uuid()' END;
+BEGIN
+    WHILE done < total_rows LOOP
+        EXECUTE format('INSERT INTO %I SELECT %s, gen_random_uuid(), g FROM generate_series(1, %s) g',
+                       target, key_fn, LEAST(batch_size, total_rows - done));
+        COMMIT;
+        done := done + batch_size;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+\echo 'Inserting into bench_repayments_v4 (random keys)'
+CALL pg_temp.fill('bench_repayments_v4', :rows, :batch);
+
+\echo 'Inserting into bench_repayments_v7 (time-ordered keys)'
+CALL pg_temp.fill('bench_repayments_v7', :rows, :batch);
+
+\timing off
+SELECT c.relname AS index,
+       pg_size_pretty(pg_relation_size(c.oid)) AS size,
+       pg_relation_size(c.oid) AS bytes
+FROM pg_class c
+WHERE c.relname IN ('bench_repayments_v4_pkey', 'bench_repayments_v7_pkey')
+ORDER BY c.relname;
+
+DROP TABLE bench_repayments_v4, bench_repayments_v7;
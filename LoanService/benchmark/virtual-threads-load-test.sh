@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread mode under rising concurrency.
+# Start one LoanService instance per mode, e.g.
+#   java -jar target/LoanService-0.0.1-SNAPSHOT.jar --server.port=8091 --spring.threads.virtual.enabled=false
+#   java -jar target/LoanService-0.0.1-SNAPSHOT.jar --server.port=8092 --spring.threads.virtual.enabled=true
+# then run:  ./benchmark/virtual-threads-load-test.sh
+# Requires `hey` (https://github.com/rakyll/hey). Prints p99 latency and throughput per concurrency level;
+# the highest level with no errors is the max sustainable concurrency for that mode.
+set -euo pipefail
+
+PLATFORM_URL=${PLATFORM_URL:-http://localhost:8091}
+VIRTUAL_URL=${VIRTUAL_URL:-http://localhost:8092}
+ENDPOINT=${ENDPOINT:-/loans/my}
+USER_ID=${USER_ID:-load-test-user}
+DURATION=${DURATION:-30s}
+LEVELS=${LEVELS:-"50 200 400 800 1600"}
+
+run() {
+    local mode=$1 base=$2 concurrency=$3
+    local out
+    out=$(hey -z "$DURATION" -c "$concurrency" -H "X-User-Id: $USER_ID" "$base$ENDPOINT")
+    local rps p99 errors
+    rps=$(awk '/Requests\/sec/ {print $2}' <<<"$out")
+    p99=$(awk '/ 99% in/ {print $3}' <<<"$out")
+    errors=$(awk '/\[[0-9]+\]/ && !/\[200\]/ {sum += $2} END {print sum + 0}' <<<"$out")
+    printf '%-9s %6s %12s %12s %8s\n' "$mode" "$concurrency" "$rps" "${p99:-n/a}" "$errors"
+}
+
+printf '%-9s %6s %12s %12s %8s\n' mode conc req/s p99_secs errors
+for level in $LEVELS; do
+    run platform "$PLATFORM_URL" "$level"
+    run virtual "$VIRTUAL_URL" "$level"
+done
@@ -0,0 +1,64 @@
+package com.shantanu.LoanFlow.LoanService.benchmark;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.service.AmortizationEngine;
+import com.shantanu.LoanFlow.LoanService.service.InterestCalculator;
+import com.shantanu.LoanFlow.LoanService.service.LoanMetrics;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Total-repayable math run on every applyLoan and on legacy repayments.
+// FLAT is a single multiply/divide chain; EMI builds the whole schedule to sum it.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterestCalculationBenchmark {
+
+    @Param({"12", "60", "360"})
+    private int tenureMonths;
+
+    @Param({"FLAT", "EMI"})
+    private Loan.InterestMode interestMode;
+
+    private InterestCalculator interestCalculator;
+    private AmortizationEngine amortizationEngine;
+    private Loan loan;
+
+    @Setup
+    public void setUp() {
+        interestCalculator = new InterestCalculator();
+        // Schedule building never reaches the repositories
+        amortizationEngine = new AmortizationEngine(interestCalculator, null, null,
+                new LoanMetrics(new SimpleMeterRegistry()));
+        loan = Loan.builder()
+                .loanType(Loan.LoanType.HOME)
+                .principalAmount(Money.of(new BigDecimal("2500000.00")))
+                .interestRate(new BigDecimal("8.65"))
+                .tenureMonths(tenureMonths)
+                .interestMode(interestMode)
+                .status(Loan.LoanStatus.PENDING)
+                .build();
+    }
+
+    @Benchmark
+    public Money totalRepayable() {
+        return amortizationEngine.totalRepayable(loan);
+    }
+
+    @Benchmark
+    public Money flatTotalRepayable() {
+        return interestCalculator.flatTotalRepayable(loan);
+    }
+
+    @Benchmark
+    public Money emi() {
+        return interestCalculator.emi(loan);
+    }
+}
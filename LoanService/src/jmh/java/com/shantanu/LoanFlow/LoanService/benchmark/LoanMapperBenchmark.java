@@ -0,0 +1,51 @@
+package com.shantanu.LoanFlow.LoanService.benchmark;
+
+import com.shantanu.LoanFlow.LoanService.dto.LoanRequest;
+import com.shantanu.LoanFlow.LoanService.dto.LoanResponse;
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.mapper.LoanMapper;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoanMapperBenchmark {
+
+    private final LoanMapper loanMapper = new LoanMapper();
+    private LoanRequest request;
+    private Loan loan;
+
+    @Setup
+    public void setUp() {
+        request = new LoanRequest();
+        request.setLoanType(Loan.LoanType.PERSONAL);
+        request.setPrincipalAmount(Money.of(new BigDecimal("150000.00")));
+        request.setInterestRate(new BigDecimal("11.5"));
+        request.setTenureMonths(36);
+        request.setInterestMode(Loan.InterestMode.EMI);
+
+        loan = loanMapper.toEntity(request, "user-42");
+        loan.setId(UUID.randomUUID());
+        loan.setCreatedAt(LocalDateTime.now());
+        loan.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public Loan toEntity() {
+        return loanMapper.toEntity(request, "user-42");
+    }
+
+    @Benchmark
+    public LoanResponse toResponse() {
+        return loanMapper.toResponse(loan);
+    }
+}
@@ -0,0 +1,108 @@
+package com.shantanu.LoanFlow.LoanService.benchmark;
+
+import com.shantanu.LoanFlow.LoanService.LoanServiceApplication;
+import com.shantanu.LoanFlow.LoanService.dto.LoanResponse;
+import com.shantanu.LoanFlow.LoanService.mapper.LoanMapper;
+import com.shantanu.LoanFlow.LoanService.repository.LoanRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Listing one user's loans over a large result set, the way the read paths did before projections
+// (managed entities mapped by LoanMapper, in a read-write transaction) against LoanResponse built in the
+// query inside a read-only one. Needs the Postgres the integration tests use: LOAN_TEST_DB_URL, _USER and
+// _PASSWORD, default jdbc:postgresql://localhost:5432/loanservice_test. Rows are seeded once per size.
+// Allocation per call is the gc.alloc.rate.norm line that -prof gc adds to the results.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoanReadPathBenchmark {
+
+    @Param({"1000", "10000"})
+    private int loans;
+
+    private ConfigurableApplicationContext context;
+    private LoanRepository loanRepository;
+    private LoanMapper loanMapper;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private String userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LoanServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + env("LOAN_TEST_DB_URL", "jdbc:postgresql://localhost:5432/loanservice_test"),
+                        "spring.datasource.username=" + env("LOAN_TEST_DB_USER", "postgres"),
+                        "spring.datasource.password=" + env("LOAN_TEST_DB_PASSWORD", ""),
+                        "eureka.client.enabled=false",
+                        "loan.balance.backfill-on-startup=false",
+                        "loan.summary.rebuild-on-startup=false",
+                        "loan.overdue.enabled=false",
+                        "loan.archive.enabled=false",
+                        "loan.repayments.partitioning.enabled=false")
+                .run();
+        loanRepository = context.getBean(LoanRepository.class);
+        loanMapper = context.getBean(LoanMapper.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        userId = "bench-read-" + loans;
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Integer seeded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loans WHERE user_id = ?", Integer.class, userId);
+        if (seeded == null || seeded != loans) {
+            jdbcTemplate.update("DELETE FROM loans WHERE user_id = ?", userId);
+            jdbcTemplate.update("""
+                    INSERT INTO loans (loan_id, user_id, loan_type, principal_amount, interest_rate, tenure_months, status,
+                                       interest_mode, total_repayable, amount_paid, version, created_at, updated_at)
+                    SELECT gen_random_uuid(), ?, (ARRAY['PERSONAL', 'HOME', 'EDUCATION'])[1 + i % 3], 150000, 11.5, 36,
+                           (ARRAY['PENDING', 'APPROVED', 'REJECTED', 'ACTIVE', 'CLOSED'])[1 + i % 5], 'EMI', 178000, 0, 0,
+                           now() - i * interval '1 minute', now() - i * interval '1 minute'
+                    FROM generate_series(1, ?) i
+                    """, userId, loans);
+            jdbcTemplate.execute("ANALYZE loans");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<LoanResponse> entitiesInReadWriteTransaction() {
+        return readWrite.execute(status -> loanRepository.findByUserId(userId).stream()
+                .map(loanMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<LoanResponse> entitiesInReadOnlyTransaction() {
+        return readOnly.execute(status -> loanRepository.findByUserId(userId).stream()
+                .map(loanMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<LoanResponse> projectionInReadOnlyTransaction() {
+        return readOnly.execute(status -> loanRepository.findResponsesByUserId(userId));
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+}
@@ -0,0 +1,80 @@
+package com.shantanu.LoanFlow.LoanService.benchmark;
+
+import com.shantanu.LoanFlow.LoanService.entity.Repayment;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Summing a loan's repayment history, as repayLoan did before the running balance: the BigDecimal
+// stream reduce it used, against Money and raw-cents loops, over histories of varied size
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepaymentSummationBenchmark {
+
+    @Param({"1", "12", "60", "360"})
+    private int historySize;
+
+    private List<Repayment> repayments;
+    private List<BigDecimal> decimalAmounts;
+    private long[] amountsInCents;
+
+    @Setup
+    public void setUp() {
+        UUID loanId = UUID.randomUUID();
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        repayments = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            // Uneven cents so the additions do real scale work
+            BigDecimal amount = BigDecimal.valueOf(1000 + i * 37L, 0)
+                    .add(BigDecimal.valueOf(i % 100, 2))
+                    .setScale(2, RoundingMode.HALF_UP);
+            repayments.add(Repayment.builder()
+                    .loanId(loanId)
+                    .installmentNumber(i + 1)
+                    .amount(Money.of(amount))
+                    .paidAmount(Money.of(amount))
+                    .dueDate(start.plusMonths(i))
+                    .paidDate(start.plusMonths(i))
+                    .status(Repayment.RepaymentStatus.PAID)
+                    .build());
+        }
+        decimalAmounts = repayments.stream().map(r -> r.getAmount().toBigDecimal()).toList();
+        amountsInCents = repayments.stream().mapToLong(r -> r.getAmount().cents()).toArray();
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return decimalAmounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public Money loop() {
+        Money total = Money.ZERO;
+        for (Repayment repayment : repayments) {
+            if (repayment.getStatus() == Repayment.RepaymentStatus.PAID) {
+                total = total.plus(repayment.getAmount());
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long centsLoop() {
+        long total = 0;
+        for (long cents : amountsInCents) {
+            total = Math.addExact(total, cents);
+        }
+        return total;
+    }
+}
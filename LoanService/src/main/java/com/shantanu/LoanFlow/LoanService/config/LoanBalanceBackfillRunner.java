@@ -0,0 +1,21 @@
+package com.shantanu.LoanFlow.LoanService.config;
+
+import com.shantanu.LoanFlow.LoanService.service.LoanBalanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "loan.balance.backfill-on-startup", havingValue = "true", matchIfMissing = true)
+public class LoanBalanceBackfillRunner implements ApplicationRunner {
+
+    private final LoanBalanceService loanBalanceService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        loanBalanceService.backfillBalances();
+    }
+}
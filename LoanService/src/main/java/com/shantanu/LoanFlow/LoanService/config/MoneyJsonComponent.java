@@ -0,0 +1,38 @@
+package com.shantanu.LoanFlow.LoanService.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+// Money goes over the wire as a plain decimal number, the same shape BigDecimal amounts have
+@JsonComponent
+public class MoneyJsonComponent {
+
+    public static class Serializer extends JsonSerializer<Money> {
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.toBigDecimal());
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            // Accepts JSON numbers and numeric strings, as BigDecimal fields did
+            BigDecimal value = ctxt.readValue(parser, BigDecimal.class);
+            try {
+                return Money.ofExact(value);
+            } catch (ArithmeticException e) {
+                throw ctxt.weirdNumberException(value, Money.class, "Amount must have at most 2 decimal places");
+            }
+        }
+    }
+}
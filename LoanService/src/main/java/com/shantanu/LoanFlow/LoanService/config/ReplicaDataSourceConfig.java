@@ -0,0 +1,67 @@
+package com.shantanu.LoanFlow.LoanService.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Enabled by listing replica JDBC URLs in loan.datasource.replica.urls. Without it the auto-configured
+// single primary datasource is used unchanged.
+@Configuration
+@ConditionalOnProperty(name = "loan.datasource.replica.urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(DataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${loan.datasource.replica.urls}") List<String> urls,
+            @Value("${loan.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${loan.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${loan.datasource.replica.max-pool-size:10}") int maxPoolSize,
+            @Value("${loan.datasource.replica.max-lag:PT10S}") Duration maxLag) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(maxPoolSize);
+            replica.setReadOnly(true);
+            // Do not block startup on a replica that is down; the health check keeps it out of rotation
+            replica.setInitializationFailTimeout(-1);
+            // Replica pools are not beans, so the actuator does not bind their hikaricp.* meters itself
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaPool(replicas, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicaPool);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
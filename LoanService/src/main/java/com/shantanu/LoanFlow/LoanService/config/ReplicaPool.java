@@ -0,0 +1,103 @@
+package com.shantanu.LoanFlow.LoanService.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read replicas behind ReplicaRoutingDataSource. Hands them out round-robin, skipping any that
+// failed the last health check (unreachable, or replaying WAL further behind than maxLag).
+@Slf4j
+public class ReplicaPool implements DisposableBean {
+
+    // Lag is zero when everything received has been replayed, so an idle replica is not reported stale.
+    // On a server that is not a standby both LSNs are null and the lag reads as zero.
+    private static final String LAG_SQL = """
+            SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END
+            """;
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<HikariDataSource> dataSources, Duration maxLag) {
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+    }
+
+    // Null when no replica is healthy; the caller falls back to the primary
+    public Replica choose() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Scheduled(fixedDelayString = "${loan.datasource.replica.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy = isHealthy(replica);
+            if (healthy != replica.healthy) {
+                log.warn("Read replica {} is now {}", replica.getName(), healthy ? "healthy" : "unhealthy; reads fall back");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private boolean isHealthy(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_SQL)) {
+            rs.next();
+            double lagSeconds = rs.getDouble(1);
+            return lagSeconds * 1000 <= maxLag.toMillis();
+        } catch (Exception e) {
+            log.debug("Health check on replica {} failed: {}", replica.getName(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    public static class Replica {
+        private final HikariDataSource dataSource;
+        // Out of rotation until the first health check has measured its lag
+        private volatile boolean healthy = false;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return dataSource.getPoolName();
+        }
+
+        public HikariDataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.shantanu.LoanFlow.LoanService.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Sends read-only transactions to a healthy replica and everything else to the primary.
+// Once a request has opened a read-write transaction, its later reads stay on the primary too,
+// so it never reads its own write from a replica that has not replayed it yet (see ReadAfterWriteFilter).
+// Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is only set
+// after the transaction manager has asked for a connection.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> WROTE_IN_REQUEST = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final ReplicaPool replicaPool;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        this.replicaPool = replicaPool;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaPool.getReplicas().forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Only web requests are tracked; ReadAfterWriteFilter resets the flag when the request ends
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && RequestContextHolder.getRequestAttributes() != null) {
+                WROTE_IN_REQUEST.set(Boolean.TRUE);
+            }
+            return PRIMARY;
+        }
+        if (Boolean.TRUE.equals(WROTE_IN_REQUEST.get()) || Boolean.TRUE.equals(FORCE_PRIMARY.get())) {
+            return PRIMARY;
+        }
+        ReplicaPool.Replica replica = replicaPool.choose();
+        return replica != null ? replica.getName() : PRIMARY;
+    }
+
+    // Runs read-only work on the primary even when a replica is healthy. For reads whose result outlives
+    // the request, such as cache loads: a replica up to max-lag behind could otherwise re-cache a row
+    // that a writer has just evicted. Without replicas configured it only runs the work.
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+
+    static void clearRequestState() {
+        WROTE_IN_REQUEST.remove();
+    }
+}
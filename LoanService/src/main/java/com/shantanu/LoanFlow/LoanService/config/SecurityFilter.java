@@ -22,8 +22,9 @@ public class SecurityFilter extends OncePerRequestFilter {
         // But strictly for business logic:
 
         if (userId == null || userId.isEmpty()) {
-            // Allow Swagger & H2 (if used locally)
-            if (request.getRequestURI().contains("swagger") || request.getRequestURI().contains("api-docs")) {
+            // Allow Swagger & H2 (if used locally), and health/Prometheus scrapes, which carry no user
+            if (request.getRequestURI().contains("swagger") || request.getRequestURI().contains("api-docs")
+                    || request.getRequestURI().startsWith("/actuator/")) {
                 filterChain.doFilter(request, response);
                 return;
             }
@@ -0,0 +1,183 @@
+package com.shantanu.LoanFlow.LoanService.config;
+
+import com.shantanu.LoanFlow.LoanService.service.SqlStatementStats;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+// Wraps connections so every statement execution reaches SqlStatementStats, whether it came from
+// Hibernate or a JdbcTemplate. Unsampled executions cost one map update inside a web request and
+// nothing outside one; sampled ones are timed, and a query's rows are counted as its result set is read.
+public class SqlStatsDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final SqlStatementStats stats;
+
+    public SqlStatsDataSource(DataSource target, SqlStatementStats stats) {
+        super(target);
+        this.stats = stats;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection(username, password)));
+    }
+
+    private class ConnectionHandler extends IdentityHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        protected Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, new StatementHandler(statement, null));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler extends IdentityHandler {
+        private final Statement target;
+        // Null for a plain Statement, whose SQL arrives with each execute call
+        private final String sql;
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        protected Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return invokeTarget(target, method, args);
+            }
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            if (executed == null) {
+                return invokeTarget(target, method, args);
+            }
+
+            stats.executed(executed);
+            if (!stats.sample()) {
+                return invokeTarget(target, method, args);
+            }
+            long started = System.nanoTime();
+            Object result = invokeTarget(target, method, args);
+            LongConsumer rows = stats.record(executed, System.nanoTime() - started, rowsAffected(result));
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, rows));
+            }
+            return result;
+        }
+    }
+
+    // Reports the rows read once, when the result set is exhausted or closed
+    private static class ResultSetHandler extends IdentityHandler {
+        private final ResultSet target;
+        private final LongConsumer rows;
+        private long read;
+        private boolean reported;
+
+        private ResultSetHandler(ResultSet target, LongConsumer rows) {
+            this.target = target;
+            this.rows = rows;
+        }
+
+        @Override
+        protected Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if ("next".equals(method.getName())) {
+                if (Boolean.TRUE.equals(result)) {
+                    read++;
+                } else {
+                    report();
+                }
+            } else if ("close".equals(method.getName())) {
+                report();
+            }
+            return result;
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                rows.accept(read);
+            }
+        }
+    }
+
+    // Proxies compare by identity, so Hibernate's statement registries can key on them
+    private abstract static class IdentityHandler implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> args.length == 1 && proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handle(proxy, method, args);
+            };
+        }
+
+        protected abstract Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+    }
+
+    private static long rowsAffected(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
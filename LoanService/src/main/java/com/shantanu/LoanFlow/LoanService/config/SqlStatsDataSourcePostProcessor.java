@@ -0,0 +1,31 @@
+package com.shantanu.LoanFlow.LoanService.config;
+
+import com.shantanu.LoanFlow.LoanService.service.SqlStatementStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Wraps the application's DataSource (the auto-configured pool, or the replica-routing proxy when
+// replicas are configured) in SqlStatsDataSource. Only the bean named dataSource is wrapped, so a
+// statement is not counted twice when that bean delegates to another DataSource bean.
+@Component
+@ConditionalOnProperty(name = "loan.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatementStats> stats;
+
+    public SqlStatsDataSourcePostProcessor(ObjectProvider<SqlStatementStats> stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+            return new SqlStatsDataSource(dataSource, stats.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,33 @@
+package com.shantanu.LoanFlow.LoanService.config;
+
+import com.shantanu.LoanFlow.LoanService.service.SqlStatementStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Bounds SqlStatementStats' per-request SELECT counts to one request, for N+1 detection
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "loan.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsRequestFilter extends OncePerRequestFilter {
+
+    private final SqlStatementStats sqlStatementStats;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlStatementStats.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            sqlStatementStats.endRequest(request.getMethod() + " " + request.getRequestURI());
+        }
+    }
+}
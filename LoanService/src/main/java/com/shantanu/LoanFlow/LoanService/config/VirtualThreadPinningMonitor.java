@@ -0,0 +1,70 @@
+package com.shantanu.LoanFlow.LoanService.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+// Diagnostics for trying out virtual-thread mode; needs both spring.threads.virtual.enabled and
+// loan.virtual-threads.diagnostics.enabled, so production runs neither the JFR stream nor the probe.
+// Streams JFR jdk.VirtualThreadPinned events to the log, and at startup runs one blocking JDBC call on a
+// virtual thread so a driver or pool that pins its carrier (synchronized around socket I/O) shows up immediately.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = {"spring.threads.virtual.enabled", "loan.virtual-threads.diagnostics.enabled"},
+        havingValue = "true")
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final int REPORTED_FRAMES = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${loan.virtual-threads.pinning-threshold:PT0.02S}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws InterruptedException {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::report);
+        stream.startAsync();
+
+        // Parks inside the driver for longer than the threshold, so a pinned carrier produces an event
+        long sleepMillis = Math.max(threshold.toMillis() * 2, 50);
+        Thread probe = Thread.ofVirtual().name("pinning-probe").start(() ->
+                jdbcTemplate.execute("SELECT pg_sleep(" + sleepMillis / 1000.0 + ")"));
+        probe.join();
+        log.info("Virtual-thread mode: pinning monitor active (threshold {}), startup JDBC probe done", threshold);
+    }
+
+    private void report(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String frames = stackTrace == null ? "" : stackTrace.getFrames().stream()
+                .limit(REPORTED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n    at ", "\n    at ", ""));
+        log.warn("Virtual thread pinned its carrier for {} ms{}", event.getDuration().toMillis(), frames);
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
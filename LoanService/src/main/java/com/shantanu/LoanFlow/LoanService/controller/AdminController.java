@@ -1,11 +1,48 @@
 package com.shantanu.LoanFlow.LoanService.controller;
 
+import com.shantanu.LoanFlow.LoanService.dto.BalanceDiscrepancy;
+import com.shantanu.LoanFlow.LoanService.dto.BulkTransitionRequest;
+import com.shantanu.LoanFlow.LoanService.dto.BulkTransitionResponse;
+import com.shantanu.LoanFlow.LoanService.dto.CacheStatsResponse;
+import com.shantanu.LoanFlow.LoanService.dto.LoanImportResponse;
+import com.shantanu.LoanFlow.LoanService.dto.LoanPage;
+import com.shantanu.LoanFlow.LoanService.dto.LoanSummaryRebuildResponse;
+import com.shantanu.LoanFlow.LoanService.dto.OutboxStatsResponse;
 import com.shantanu.LoanFlow.LoanService.dto.LoanResponse;
+import com.shantanu.LoanFlow.LoanService.dto.PortfolioStatsResponse;
+import com.shantanu.LoanFlow.LoanService.dto.PrepaymentQuoteResponse;
+import com.shantanu.LoanFlow.LoanService.dto.SqlStatsResponse;
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.service.BulkTransitionService;
+import com.shantanu.LoanFlow.LoanService.service.ConflictRetryTemplate;
+import com.shantanu.LoanFlow.LoanService.service.LoanBalanceService;
+import com.shantanu.LoanFlow.LoanService.service.LoanExportService;
+import com.shantanu.LoanFlow.LoanService.service.LoanImportService;
+import com.shantanu.LoanFlow.LoanService.service.LoanOutboxRelay;
+import com.shantanu.LoanFlow.LoanService.service.LoanReadCache;
 import com.shantanu.LoanFlow.LoanService.service.LoanService;
+import com.shantanu.LoanFlow.LoanService.service.LoanUserSummaryService;
+import com.shantanu.LoanFlow.LoanService.service.PortfolioStatsService;
+import com.shantanu.LoanFlow.LoanService.service.PrepaymentQuoteService;
+import com.shantanu.LoanFlow.LoanService.service.SqlStatementStats;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,20 +51,128 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AdminController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final LoanService loanService;
+    private final LoanBalanceService loanBalanceService;
+    private final BulkTransitionService bulkTransitionService;
+    private final LoanReadCache loanReadCache;
+    private final ConflictRetryTemplate conflictRetryTemplate;
+    private final PortfolioStatsService portfolioStatsService;
+    private final LoanExportService loanExportService;
+    private final LoanImportService loanImportService;
+    private final LoanOutboxRelay loanOutboxRelay;
+    private final PrepaymentQuoteService prepaymentQuoteService;
+    private final SqlStatementStats sqlStatementStats;
+    private final LoanUserSummaryService loanUserSummaryService;
 
     @GetMapping
     public ResponseEntity<List<LoanResponse>> getAllLoans() {
         return ResponseEntity.ok(loanService.getAllLoans());
     }
 
+    @GetMapping("/stats")
+    public ResponseEntity<PortfolioStatsResponse> getPortfolioStats() {
+        return ResponseEntity.ok(portfolioStatsService.getStats());
+    }
+
+    // Written straight to the response stream on the request thread, so there is no async timeout to outlive
+    @GetMapping(value = "/export", produces = "text/csv")
+    public void exportLoans(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Loan.LoanStatus> status,
+            @RequestParam(defaultValue = "true") boolean includeArchived,
+            HttpServletResponse response) throws IOException {
+        LocalDateTime createdFrom = from != null ? from.atStartOfDay() : null;
+        LocalDateTime createdTo = to != null ? to.plusDays(1).atStartOfDay() : null;
+
+        response.setContentType("text/csv");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"loans-" + LocalDate.now() + ".csv\"");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), 64 * 1024);
+        loanExportService.exportCsv(createdFrom, createdTo, status, includeArchived, writer);
+    }
+
+    // Body is read as a raw stream, never bound into a list; the format follows the Content-Type
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<LoanImportResponse> importLoans(HttpServletRequest request) throws IOException {
+        LoanImportService.Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? LoanImportService.Format.CSV
+                : LoanImportService.Format.NDJSON;
+        return ResponseEntity.ok(loanImportService.importLoans(request.getInputStream(), format));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<LoanPage> getLoansPage(@RequestParam(required = false) Loan.LoanStatus status,
+            @RequestParam(required = false) Loan.LoanType loanType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(loanService.getLoansPage(status, loanType, cursor, size));
+    }
+
     @PutMapping("/{loanId}/approve")
     public ResponseEntity<LoanResponse> approveLoan(@PathVariable UUID loanId) {
-        return ResponseEntity.ok(loanService.approveLoan(loanId));
+        return ResponseEntity.ok(conflictRetryTemplate.execute(() -> loanService.approveLoan(loanId)));
     }
 
     @PutMapping("/{loanId}/reject")
     public ResponseEntity<LoanResponse> rejectLoan(@PathVariable UUID loanId) {
-        return ResponseEntity.ok(loanService.rejectLoan(loanId));
+        return ResponseEntity.ok(conflictRetryTemplate.execute(() -> loanService.rejectLoan(loanId)));
+    }
+
+    @GetMapping("/{loanId}/quote")
+    public ResponseEntity<PrepaymentQuoteResponse> getQuote(@PathVariable UUID loanId,
+            @RequestParam(required = false) BigDecimal amount) {
+        return ResponseEntity.ok(prepaymentQuoteService.quote(loanId, amount, null, true));
+    }
+
+    @PutMapping("/bulk/approve")
+    public ResponseEntity<BulkTransitionResponse> bulkApprove(@RequestBody @Valid BulkTransitionRequest request) {
+        return ResponseEntity.ok(bulkTransitionService.approve(request));
+    }
+
+    @PutMapping("/bulk/reject")
+    public ResponseEntity<BulkTransitionResponse> bulkReject(@RequestBody @Valid BulkTransitionRequest request) {
+        return ResponseEntity.ok(bulkTransitionService.reject(request));
+    }
+
+    @GetMapping("/balances/discrepancies")
+    public ResponseEntity<List<BalanceDiscrepancy>> getBalanceDiscrepancies() {
+        return ResponseEntity.ok(loanBalanceService.findDiscrepancies());
+    }
+
+    @PostMapping("/balances/reconcile")
+    public ResponseEntity<List<BalanceDiscrepancy>> reconcileBalances() {
+        return ResponseEntity.ok(loanBalanceService.reconcile());
+    }
+
+    @PostMapping("/summaries/rebuild")
+    public ResponseEntity<LoanSummaryRebuildResponse> rebuildSummaries() {
+        return ResponseEntity.ok(loanUserSummaryService.rebuild());
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(loanReadCache.stats());
+    }
+
+    @GetMapping("/outbox-stats")
+    public ResponseEntity<OutboxStatsResponse> getOutboxStats() {
+        return ResponseEntity.ok(loanOutboxRelay.stats());
+    }
+
+    @GetMapping("/sql-stats")
+    public ResponseEntity<SqlStatsResponse> getSqlStats(@RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "TOTAL") SqlStatementStats.Order orderBy) {
+        return ResponseEntity.ok(sqlStatementStats.top(limit, orderBy));
+    }
+
+    @DeleteMapping("/sql-stats")
+    public ResponseEntity<Void> resetSqlStats() {
+        sqlStatementStats.reset();
+        return ResponseEntity.noContent().build();
     }
 }
@@ -2,14 +2,20 @@ package com.shantanu.LoanFlow.LoanService.controller;
 
 import com.shantanu.LoanFlow.LoanService.dto.LoanRequest;
 import com.shantanu.LoanFlow.LoanService.dto.LoanResponse;
+import com.shantanu.LoanFlow.LoanService.dto.LoanUserSummaryResponse;
+import com.shantanu.LoanFlow.LoanService.dto.PrepaymentQuoteResponse;
 import com.shantanu.LoanFlow.LoanService.dto.RepaymentRequest;
+import com.shantanu.LoanFlow.LoanService.service.ConflictRetryTemplate;
+import com.shantanu.LoanFlow.LoanService.service.IdempotencyService;
 import com.shantanu.LoanFlow.LoanService.service.LoanService;
+import com.shantanu.LoanFlow.LoanService.service.PrepaymentQuoteService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,11 +25,16 @@ import java.util.UUID;
 public class LoanController {
 
     private final LoanService loanService;
+    private final IdempotencyService idempotencyService;
+    private final ConflictRetryTemplate conflictRetryTemplate;
+    private final PrepaymentQuoteService prepaymentQuoteService;
 
     @PostMapping("/apply")
     public ResponseEntity<LoanResponse> applyLoan(@RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody @Valid LoanRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(loanService.applyLoan(request, userId));
+        return idempotencyService.execute(idempotencyKey, userId, "apply:" + request, LoanResponse.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(loanService.applyLoan(request, userId)));
     }
 
     @GetMapping("/my")
@@ -31,17 +42,35 @@ public class LoanController {
         return ResponseEntity.ok(loanService.getLoansByUserId(userId));
     }
 
+    // Dashboard totals in one lookup, instead of fetching every loan
+    @GetMapping("/my/summary")
+    public ResponseEntity<LoanUserSummaryResponse> getMySummary(@RequestHeader("X-User-Id") String userId) {
+        return ResponseEntity.ok(loanService.getSummary(userId));
+    }
+
     @GetMapping("/{loanId}")
     public ResponseEntity<LoanResponse> getLoanById(@RequestHeader("X-User-Id") String userId,
             @PathVariable UUID loanId) {
         return ResponseEntity.ok(loanService.getLoanById(loanId, userId, false)); // false = not admin
     }
 
+    // Without an amount the quote is for closing the loan today
+    @GetMapping("/{loanId}/quote")
+    public ResponseEntity<PrepaymentQuoteResponse> getQuote(@RequestHeader("X-User-Id") String userId,
+            @PathVariable UUID loanId,
+            @RequestParam(required = false) BigDecimal amount) {
+        return ResponseEntity.ok(prepaymentQuoteService.quote(loanId, amount, userId, false)); // false = not admin
+    }
+
     @PostMapping("/{loanId}/repay")
     public ResponseEntity<String> repayLoan(@RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @PathVariable UUID loanId,
             @RequestBody @Valid RepaymentRequest request) {
-        loanService.repayLoan(loanId, request.getAmount(), userId);
-        return ResponseEntity.ok("Repayment successful");
+        return conflictRetryTemplate.execute(() -> idempotencyService.execute(idempotencyKey, userId,
+                "repay:" + loanId + ":" + request, String.class, () -> {
+                    loanService.repayLoan(loanId, request.getAmount(), userId);
+                    return ResponseEntity.ok("Repayment successful");
+                }));
     }
 }
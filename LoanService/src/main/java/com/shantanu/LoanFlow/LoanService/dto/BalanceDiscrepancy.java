@@ -0,0 +1,17 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Projection of a loan whose stored balance disagrees with the one re-derived from repayments
+public interface BalanceDiscrepancy {
+    UUID getLoanId();
+
+    BigDecimal getTotalRepayable();
+
+    BigDecimal getAmountPaid();
+
+    BigDecimal getExpectedTotalRepayable();
+
+    BigDecimal getExpectedAmountPaid();
+}
@@ -0,0 +1,15 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class BulkTransitionFailure {
+    private UUID loanId;
+    private Loan.LoanStatus currentStatus; // null when the loan does not exist
+    private String message;
+}
@@ -0,0 +1,26 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BulkTransitionRequest {
+    @Size(max = 10000, message = "At most 10000 loan IDs per request")
+    private List<UUID> loanIds;
+
+    // Filter mode, used when no loanIds are given: oldest PENDING loans matching the filter
+    private Loan.LoanType loanType;
+
+    private LocalDateTime createdBefore;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 10000, message = "Limit must be at most 10000")
+    private Integer limit;
+}
@@ -0,0 +1,18 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class BulkTransitionResponse {
+    private Loan.LoanStatus targetStatus;
+    private int transitioned;
+    private List<UUID> transitionedIds;
+    // Loans that were not moved, with the state they were found in
+    private List<BulkTransitionFailure> failures;
+}
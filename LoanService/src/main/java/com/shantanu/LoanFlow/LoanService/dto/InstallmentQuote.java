@@ -0,0 +1,17 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class InstallmentQuote {
+    private int installmentNumber;
+    private LocalDate dueDate;
+    private Money principal;
+    private Money interest;
+    private Money amount;
+}
@@ -0,0 +1,12 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LoanImportError {
+    private long line; // 1-based line in the uploaded file
+    private String userId;
+    private String message;
+}
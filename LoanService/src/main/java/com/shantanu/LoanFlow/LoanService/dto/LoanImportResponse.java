@@ -0,0 +1,17 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class LoanImportResponse {
+    private long received;
+    private long imported;
+    private long failed;
+    // Capped at loan.import.max-reported-errors; errorsTruncated says whether more were dropped
+    private List<LoanImportError> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,14 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class LoanPage {
+    private List<LoanResponse> content;
+    // Pass back as ?cursor= to fetch the next page; null when this is the last page
+    private String nextCursor;
+}
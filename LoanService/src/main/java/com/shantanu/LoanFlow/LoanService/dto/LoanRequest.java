@@ -1,7 +1,10 @@
 package com.shantanu.LoanFlow.LoanService.dto;
 
 import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.util.MinAmount;
+import com.shantanu.LoanFlow.LoanService.util.Money;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -13,13 +16,18 @@ public class LoanRequest {
     private Loan.LoanType loanType;
 
     @NotNull(message = "Principal amount is required")
-    @DecimalMin(value = "1000.0", message = "Minimum loan amount is 1000")
-    private BigDecimal principalAmount;
+    // Amounts with more than 2 decimal places are rejected when the JSON is read (see MoneyJsonComponent)
+    @MinAmount(value = "1000.00", message = "Minimum loan amount is 1000")
+    private Money principalAmount;
 
     @NotNull(message = "Interest rate is required")
     @DecimalMin(value = "1.0", message = "Minimum interest rate is 1%")
     private BigDecimal interestRate;
 
     @NotNull(message = "Tenure is required")
+    @Min(value = 1, message = "Minimum tenure is 1 month")
     private Integer tenureMonths;
+
+    // Defaults to FLAT when omitted
+    private Loan.InterestMode interestMode;
 }
@@ -1,8 +1,11 @@
 package com.shantanu.LoanFlow.LoanService.dto;
 
 import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,13 +13,17 @@ import java.util.UUID;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class LoanResponse {
+    // Field order is the constructor used by the JPQL projections in LoanRepository
     private UUID id;
     private String userId;
     private Loan.LoanType loanType;
-    private BigDecimal principalAmount;
+    private Money principalAmount;
     private BigDecimal interestRate;
     private Integer tenureMonths;
+    private Loan.InterestMode interestMode;
     private Loan.LoanStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -0,0 +1,26 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanStatusChangedEvent {
+    private UUID loanId;
+    private String userId;
+    private Loan.LoanType loanType;
+    private Loan.LoanStatus fromStatus; // null when the loan was just created
+    private Loan.LoanStatus toStatus;
+    private Money principalAmount;
+    private Money outstandingAmount; // null for legacy rows without a running balance
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,15 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class LoanSummaryRebuildResponse {
+    // Another instance was already rebuilding; nothing was done
+    private boolean skipped;
+    private int workers;
+    private int chunks;
+    private long users;
+    private long elapsedMillis;
+}
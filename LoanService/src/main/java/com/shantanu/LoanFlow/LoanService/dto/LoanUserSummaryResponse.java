@@ -0,0 +1,20 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class LoanUserSummaryResponse {
+    private String userId;
+    private long pendingCount;
+    private long activeCount;
+    private BigDecimal totalPrincipal;
+    private BigDecimal totalOutstanding;
+    private LocalDate nextDueDate;
+    private LocalDateTime updatedAt;
+}
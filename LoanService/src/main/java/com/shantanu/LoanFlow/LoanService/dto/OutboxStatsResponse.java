@@ -0,0 +1,17 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class OutboxStatsResponse {
+    private String sink;
+    private long pending;
+    private long delivered;
+    private long failedBatches;
+    // Age of the oldest event in the most recent delivered batch
+    private long lastLagMillis;
+    private long maxLagMillis;
+    private double lastRunEventsPerSecond;
+}
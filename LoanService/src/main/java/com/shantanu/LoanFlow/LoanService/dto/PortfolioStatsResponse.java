@@ -0,0 +1,26 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.PortfolioStat;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class PortfolioStatsResponse {
+    private long totalLoans;
+    private BigDecimal totalPrincipal;
+    private BigDecimal totalOutstanding;
+    private Map<Loan.LoanType, BigDecimal> principalByType;
+    private Map<Loan.LoanStatus, BigDecimal> principalByStatus;
+    private Map<Loan.LoanStatus, Long> countByStatus;
+    // Approved (APPROVED, ACTIVE, CLOSED) over all decided loans; null until something has been decided
+    private Double approvalRate;
+    private List<PortfolioStat> buckets;
+    private LocalDateTime lastRecomputedAt;
+}
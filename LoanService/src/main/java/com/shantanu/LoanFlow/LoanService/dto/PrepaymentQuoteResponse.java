@@ -0,0 +1,26 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class PrepaymentQuoteResponse {
+    private UUID loanId;
+    private LocalDate asOf;
+    // Contractual balance: every open installment in full
+    private Money outstandingBalance;
+    // Installments already due (including overdue ones), which any prepayment settles first
+    private Money dueAmount;
+    // Due installments plus the principal still owed on future ones
+    private Money payoffAmount;
+    private Money prepaymentAmount;
+    private boolean fullSettlement;
+    private Money interestSaved;
+    private List<InstallmentQuote> remainingSchedule;
+}
@@ -1,14 +1,13 @@
 package com.shantanu.LoanFlow.LoanService.dto;
 
-import jakarta.validation.constraints.DecimalMin;
+import com.shantanu.LoanFlow.LoanService.util.MinAmount;
+import com.shantanu.LoanFlow.LoanService.util.Money;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
-import java.math.BigDecimal;
-
 @Data
 public class RepaymentRequest {
     @NotNull(message = "Amount is required")
-    @DecimalMin(value = "1.0", message = "Minimum repayment amount is 1")
-    private BigDecimal amount;
+    @MinAmount(value = "1.00", message = "Minimum repayment amount is 1")
+    private Money amount;
 }
@@ -0,0 +1,20 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SqlShapeStatsResponse {
+    // Statement text with literals and parameter lists collapsed
+    private String shape;
+    private long sampledExecutions;
+    private long estimatedExecutions;
+    private double totalMillis;
+    private double meanMillis;
+    private double maxMillis;
+    // Rows returned or affected by the sampled executions
+    private long rows;
+    // Requests that ran this SELECT more than loan.sql-stats.n-plus-one-threshold times
+    private long requestsWithNPlusOne;
+}
@@ -0,0 +1,15 @@
+package com.shantanu.LoanFlow.LoanService.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class SqlStatsResponse {
+    // Share of executions that were timed; sampled figures are scaled by it in estimatedExecutions
+    private double sampleRate;
+    private int shapeCount;
+    private List<SqlShapeStatsResponse> shapes;
+}
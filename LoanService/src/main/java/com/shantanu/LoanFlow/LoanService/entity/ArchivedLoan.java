@@ -0,0 +1,66 @@
+package com.shantanu.LoanFlow.LoanService.entity;
+
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Cold copy of a CLOSED/REJECTED loan, moved out of loans by LoanArchiver. Same columns as Loan plus archivedAt.
+@Entity
+@Table(name = "loans_archive", indexes = {
+        @Index(name = "idx_loans_archive_user_id", columnList = "user_id"),
+        // Export's created_at range and ordering
+        @Index(name = "idx_loans_archive_created_at_id", columnList = "created_at, loan_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedLoan {
+
+    @Id
+    @Column(name = "loan_id")
+    private UUID id;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Loan.LoanType loanType;
+
+    @Column(nullable = false)
+    private Money principalAmount;
+
+    @Column(nullable = false)
+    private BigDecimal interestRate;
+
+    @Column(nullable = false)
+    private Integer tenureMonths;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Loan.LoanStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private Loan.InterestMode interestMode;
+
+    private Money totalRepayable;
+
+    private Money amountPaid;
+
+    private Long version;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
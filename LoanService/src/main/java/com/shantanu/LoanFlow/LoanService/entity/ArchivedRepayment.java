@@ -0,0 +1,53 @@
+package com.shantanu.LoanFlow.LoanService.entity;
+
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Repayments of an archived loan, moved in the same statement as the loan itself
+@Entity
+@Table(name = "repayments_archive", indexes = {
+        @Index(name = "idx_repayments_archive_loan_id", columnList = "loan_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedRepayment {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID loanId;
+
+    @Column(nullable = false)
+    private Money amount;
+
+    private Integer installmentNumber;
+
+    private Money principalComponent;
+
+    private Money interestComponent;
+
+    private Money paidAmount;
+
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    private LocalDate paidDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Repayment.RepaymentStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,47 @@
+package com.shantanu.LoanFlow.LoanService.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Durable record of an Idempotency-Key and the response it produced. Written via IdempotencyRepository.
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    // userId + ":" + Idempotency-Key, so keys never collide across users
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    private Integer responseStatus;
+
+    @Column(columnDefinition = "text")
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        IN_PROGRESS, COMPLETED
+    }
+}
@@ -0,0 +1,40 @@
+package com.shantanu.LoanFlow.LoanService.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Progress of a chunked background job, so a restart resumes after the last committed chunk
+@Entity
+@Table(name = "job_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+
+    @Id
+    private String jobName;
+
+    @Column(nullable = false)
+    private LocalDate runDate;
+
+    // Keyset position of the last processed row
+    private LocalDate lastDueDate;
+
+    private UUID lastId;
+
+    private long processed;
+
+    private boolean completed;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
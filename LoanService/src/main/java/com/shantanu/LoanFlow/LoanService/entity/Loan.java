@@ -1,5 +1,7 @@
 package com.shantanu.LoanFlow.LoanService.entity;
 
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import com.shantanu.LoanFlow.LoanService.util.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,7 +15,14 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "loans")
+@Table(name = "loans", indexes = {
+        // existsByUserIdAndLoanTypeAndStatusIn, and the per-user listing via the leading column
+        @Index(name = "idx_loans_user_type_status", columnList = "user_id, loan_type, status"),
+        // Admin queue / keyset listing filtered by status
+        @Index(name = "idx_loans_status_created_at_id", columnList = "status, created_at DESC, loan_id DESC"),
+        // Unfiltered keyset listing
+        @Index(name = "idx_loans_created_at_id", columnList = "created_at DESC, loan_id DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,7 +30,7 @@ import java.util.UUID;
 public class Loan {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Column(name = "loan_id")
     private UUID id;
 
@@ -33,7 +42,7 @@ public class Loan {
     private LoanType loanType;
 
     @Column(nullable = false)
-    private BigDecimal principalAmount;
+    private Money principalAmount;
 
     @Column(nullable = false)
     private BigDecimal interestRate;
@@ -45,12 +54,32 @@ public class Loan {
     @Column(nullable = false)
     private LoanStatus status;
 
+    // Null on rows created before schedules existed; treated as FLAT
+    @Enumerated(EnumType.STRING)
+    private InterestMode interestMode;
+
+    // Running balance, maintained by repayLoan so repayments never re-sum history.
+    // Nullable only for rows created before these columns existed (see LoanBalanceService).
+    private Money totalRepayable;
+
+    private Money amountPaid;
+
+    // Optimistic lock: concurrent repayments/transitions on the same loan conflict instead of overwriting.
+    // The default lets ddl-auto add the column to existing rows.
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    public Money getOutstandingAmount() {
+        return totalRepayable.minus(amountPaid);
+    }
+
     public enum LoanType {
         PERSONAL, HOME, EDUCATION
     }
@@ -58,4 +87,8 @@ public class Loan {
     public enum LoanStatus {
         PENDING, APPROVED, REJECTED, ACTIVE, CLOSED
     }
+
+    public enum InterestMode {
+        FLAT, EMI
+    }
 }
@@ -0,0 +1,39 @@
+package com.shantanu.LoanFlow.LoanService.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Append-only audit trail of status changes. Rows are never updated; written via LoanStatusHistoryRepository.
+@Entity
+@Table(name = "loan_status_history", indexes = {
+        @Index(name = "idx_loan_status_history_loan_changed_at", columnList = "loan_id, changed_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanStatusHistory {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID loanId;
+
+    // Null for the creation entry
+    @Enumerated(EnumType.STRING)
+    private Loan.LoanStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Loan.LoanStatus toStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
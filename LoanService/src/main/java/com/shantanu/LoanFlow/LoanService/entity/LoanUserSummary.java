@@ -0,0 +1,43 @@
+package com.shantanu.LoanFlow.LoanService.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Denormalised per-borrower dashboard figures, refreshed in the same transaction as every loan write
+// and read by primary key. Written via LoanUserSummaryRepository.
+@Entity
+@Table(name = "loan_user_summaries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanUserSummary {
+
+    @Id
+    private String userId;
+
+    @Column(nullable = false)
+    private long pendingCount;
+
+    // APPROVED and ACTIVE loans; the amounts below cover the same loans
+    @Column(nullable = false)
+    private long activeCount;
+
+    @Column(nullable = false)
+    private BigDecimal totalPrincipal;
+
+    @Column(nullable = false)
+    private BigDecimal totalOutstanding;
+
+    // Earliest open (PENDING or OVERDUE) installment across the active loans
+    private LocalDate nextDueDate;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,41 @@
+package com.shantanu.LoanFlow.LoanService.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Pending loan event, inserted in the same transaction as the state change it describes and
+// deleted by LoanOutboxRelay once the sink has accepted it. Written via OutboxRepository.
+@Entity
+@Table(name = "loan_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    // Sequence order is the relay's drain order; consumers can also use it to drop redeliveries
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Set while a relay is delivering the event; once it passes, the event is up for grabs again
+    private LocalDateTime leasedUntil;
+}
@@ -0,0 +1,52 @@
+package com.shantanu.LoanFlow.LoanService.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Running portfolio totals per (loanType, status), maintained by PortfolioStatsService
+@Entity
+@Table(name = "loan_portfolio_stats")
+@IdClass(PortfolioStat.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioStat {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Loan.LoanType loanType;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Loan.LoanStatus status;
+
+    @Column(nullable = false)
+    private long loanCount;
+
+    @Column(nullable = false)
+    private BigDecimal principalTotal;
+
+    @Column(nullable = false)
+    private BigDecimal outstandingTotal;
+
+    private LocalDateTime updatedAt;
+
+    // Set on every row by a full recompute; null on buckets first created by a delta flush since
+    private LocalDateTime recomputedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Loan.LoanType loanType;
+        private Loan.LoanStatus status;
+    }
+}
@@ -1,17 +1,23 @@
 package com.shantanu.LoanFlow.LoanService.entity;
 
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import com.shantanu.LoanFlow.LoanService.util.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "repayments")
+@Table(name = "repayments", indexes = {
+        // findByLoanId and the oldest-open-installment lookup used when allocating payments
+        @Index(name = "idx_repayments_loan_installment", columnList = "loan_id, installment_number"),
+        // Overdue sweep keyset scan
+        @Index(name = "idx_repayments_status_due_date_id", columnList = "status, due_date, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,14 +25,24 @@ import java.util.UUID;
 public class Repayment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
     private UUID loanId;
 
+    // Installment amount due (or the payment itself for loans without a schedule)
     @Column(nullable = false)
-    private BigDecimal amount;
+    private Money amount;
+
+    // 1-based position in the amortization schedule; null for ad-hoc payments on unscheduled loans
+    private Integer installmentNumber;
+
+    private Money principalComponent;
+
+    private Money interestComponent;
+
+    private Money paidAmount;
 
     @Column(nullable = false)
     private LocalDate dueDate;
@@ -15,6 +15,7 @@ public class LoanMapper {
                 .principalAmount(request.getPrincipalAmount())
                 .interestRate(request.getInterestRate())
                 .tenureMonths(request.getTenureMonths())
+                .interestMode(request.getInterestMode() != null ? request.getInterestMode() : Loan.InterestMode.FLAT)
                 .status(Loan.LoanStatus.PENDING) // Default status
                 .build();
     }
@@ -27,6 +28,7 @@ public class LoanMapper {
                 .principalAmount(loan.getPrincipalAmount())
                 .interestRate(loan.getInterestRate())
                 .tenureMonths(loan.getTenureMonths())
+                .interestMode(loan.getInterestMode())
                 .status(loan.getStatus())
                 .createdAt(loan.getCreatedAt())
                 .updatedAt(loan.getUpdatedAt())
@@ -0,0 +1,20 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.dto.LoanResponse;
+import com.shantanu.LoanFlow.LoanService.entity.ArchivedLoan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedLoanRepository extends JpaRepository<ArchivedLoan, UUID> {
+
+    @Query("SELECT new com.shantanu.LoanFlow.LoanService.dto.LoanResponse("
+            + "a.id, a.userId, a.loanType, a.principalAmount, a.interestRate, a.tenureMonths, a.interestMode, "
+            + "a.status, a.createdAt, a.updatedAt) FROM ArchivedLoan a WHERE a.id = :id")
+    Optional<LoanResponse> findResponseById(@Param("id") UUID id);
+}
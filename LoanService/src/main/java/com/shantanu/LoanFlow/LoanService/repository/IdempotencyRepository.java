@@ -0,0 +1,61 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.entity.IdempotencyRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Inserts an IN_PROGRESS claim, or takes over one whose owner stopped updating it before staleBefore.
+    // Returns false when the key is already completed or actively held by another request.
+    public boolean claim(String id, String requestHash, LocalDateTime now, LocalDateTime staleBefore) {
+        int rows = jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (id, request_hash, status, created_at, updated_at)
+                VALUES (?, ?, 'IN_PROGRESS', ?, ?)
+                ON CONFLICT (id) DO UPDATE SET request_hash = EXCLUDED.request_hash, updated_at = EXCLUDED.updated_at
+                WHERE idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.updated_at < ?
+                """, id, requestHash, Timestamp.valueOf(now), Timestamp.valueOf(now), Timestamp.valueOf(staleBefore));
+        return rows > 0;
+    }
+
+    public Optional<IdempotencyRecord> findById(String id) {
+        List<IdempotencyRecord> records = jdbcTemplate.query(
+                "SELECT id, request_hash, status, response_status, response_body, created_at, updated_at"
+                        + " FROM idempotency_keys WHERE id = ?",
+                (rs, rowNum) -> IdempotencyRecord.builder()
+                        .id(rs.getString("id"))
+                        .requestHash(rs.getString("request_hash"))
+                        .status(IdempotencyRecord.Status.valueOf(rs.getString("status")))
+                        .responseStatus(rs.getObject("response_status", Integer.class))
+                        .responseBody(rs.getString("response_body"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                        .build(),
+                id);
+        return records.stream().findFirst();
+    }
+
+    public void complete(String id, int responseStatus, String responseBody, LocalDateTime now) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET status = 'COMPLETED', response_status = ?, response_body = ?,"
+                + " updated_at = ? WHERE id = ?", responseStatus, responseBody, Timestamp.valueOf(now), id);
+    }
+
+    public void release(String id) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE id = ? AND status = 'IN_PROGRESS'", id);
+    }
+
+    public int deleteCreatedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE id IN"
+                + " (SELECT id FROM idempotency_keys WHERE created_at < ? LIMIT ?)", Timestamp.valueOf(cutoff), limit);
+    }
+}
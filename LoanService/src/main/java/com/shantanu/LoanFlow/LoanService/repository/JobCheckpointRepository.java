@@ -0,0 +1,9 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
@@ -0,0 +1,61 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class LoanArchiveRepository {
+
+    // One statement moves a batch of finished loans and all their repayments, so a loan is never
+    // visible in both places or split across them. Column lists are explicit so columns added to the
+    // hot tables later do not break the copy.
+    private static final String ARCHIVE_SQL = """
+            WITH victims AS (
+                SELECT loan_id FROM loans
+                WHERE status IN ('CLOSED', 'REJECTED') AND updated_at < ?
+                LIMIT ? FOR UPDATE SKIP LOCKED
+            ), moved_repayments AS (
+                DELETE FROM repayments r USING victims v WHERE r.loan_id = v.loan_id
+                RETURNING r.id, r.loan_id, r.installment_number, r.amount, r.principal_component,
+                          r.interest_component, r.paid_amount, r.due_date, r.paid_date, r.status
+            ), archived_repayments AS (
+                INSERT INTO repayments_archive (id, loan_id, installment_number, amount, principal_component,
+                                                interest_component, paid_amount, due_date, paid_date, status, archived_at)
+                SELECT id, loan_id, installment_number, amount, principal_component,
+                       interest_component, paid_amount, due_date, paid_date, status, ?
+                FROM moved_repayments
+            ), moved_loans AS (
+                DELETE FROM loans l USING victims v WHERE l.loan_id = v.loan_id
+                RETURNING l.loan_id, l.user_id, l.loan_type, l.principal_amount, l.interest_rate, l.tenure_months,
+                          l.status, l.interest_mode, l.total_repayable, l.amount_paid, l.version,
+                          l.created_at, l.updated_at
+            )
+            INSERT INTO loans_archive (loan_id, user_id, loan_type, principal_amount, interest_rate, tenure_months,
+                                       status, interest_mode, total_repayable, amount_paid, version,
+                                       created_at, updated_at, archived_at)
+            SELECT loan_id, user_id, loan_type, principal_amount, interest_rate, tenure_months,
+                   status, interest_mode, total_repayable, amount_paid, version, created_at, updated_at, ?
+            FROM moved_loans
+            RETURNING loan_id, user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // loanId -> userId of every loan moved
+    public Map<UUID, String> archiveBatch(LocalDateTime finishedBefore, int limit, LocalDateTime now) {
+        Map<UUID, String> archived = new HashMap<>();
+        Timestamp archivedAt = Timestamp.valueOf(now);
+        jdbcTemplate.query(ARCHIVE_SQL, rs -> {
+            archived.put(rs.getObject("loan_id", UUID.class), rs.getString("user_id"));
+        }, Timestamp.valueOf(finishedBefore), limit, archivedAt, archivedAt);
+        return archived;
+    }
+}
@@ -0,0 +1,95 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Set-based status transitions that bypass per-row entity loading
+@Repository
+@RequiredArgsConstructor
+public class LoanBulkRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Both transitions move rows from one source status (see LoanStateMachine.sourceOf)
+    // and return the rows that actually moved
+    public List<TransitionedLoan> transition(Collection<UUID> loanIds, Loan.LoanStatus from, Loan.LoanStatus target) {
+        String sql = """
+                UPDATE loans SET status = :target, updated_at = :now, version = version + 1
+                WHERE loan_id IN (:loanIds) AND status = :from
+                RETURNING loan_id, user_id, loan_type, principal_amount,
+                          COALESCE(total_repayable - amount_paid, 0) AS outstanding
+                """;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from.name())
+                .addValue("target", target.name())
+                .addValue("now", LocalDateTime.now())
+                .addValue("loanIds", loanIds);
+        return queryTransitioned(sql, params);
+    }
+
+    public List<TransitionedLoan> transitionMatching(Loan.LoanType loanType, LocalDateTime createdBefore,
+            Loan.LoanStatus from, Loan.LoanStatus target, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from.name())
+                .addValue("target", target.name())
+                .addValue("now", LocalDateTime.now())
+                .addValue("limit", limit);
+
+        StringBuilder filter = new StringBuilder("status = :from");
+        if (loanType != null) {
+            filter.append(" AND loan_type = :loanType");
+            params.addValue("loanType", loanType.name());
+        }
+        if (createdBefore != null) {
+            filter.append(" AND created_at < :createdBefore");
+            params.addValue("createdBefore", createdBefore);
+        }
+
+        // SKIP LOCKED lets two admins clear the queue concurrently without blocking each other
+        String sql = "UPDATE loans SET status = :target, updated_at = :now, version = version + 1 "
+                + "WHERE loan_id IN (SELECT loan_id FROM loans WHERE " + filter
+                + " ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED) "
+                + "RETURNING loan_id, user_id, loan_type, principal_amount, "
+                + "COALESCE(total_repayable - amount_paid, 0) AS outstanding";
+        return queryTransitioned(sql, params);
+    }
+
+    public Map<UUID, Loan.LoanStatus> findStatuses(Collection<UUID> loanIds) {
+        Map<UUID, Loan.LoanStatus> statuses = new HashMap<>();
+        jdbcTemplate.query("SELECT loan_id, status FROM loans WHERE loan_id IN (:loanIds)",
+                new MapSqlParameterSource("loanIds", loanIds),
+                rs -> {
+                    statuses.put(rs.getObject("loan_id", UUID.class), Loan.LoanStatus.valueOf(rs.getString("status")));
+                });
+        return statuses;
+    }
+
+    private List<TransitionedLoan> queryTransitioned(String sql, MapSqlParameterSource params) {
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new TransitionedLoan(
+                rs.getObject("loan_id", UUID.class),
+                rs.getString("user_id"),
+                Loan.LoanType.valueOf(rs.getString("loan_type")),
+                Money.of(rs.getBigDecimal("principal_amount")),
+                Money.of(rs.getBigDecimal("outstanding"))));
+    }
+
+    @lombok.Value
+    public static class TransitionedLoan {
+        UUID loanId;
+        String userId;
+        Loan.LoanType loanType;
+        Money principalAmount;
+        Money outstanding;
+    }
+}
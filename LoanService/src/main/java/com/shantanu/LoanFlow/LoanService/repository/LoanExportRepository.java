@@ -0,0 +1,75 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Streams loans with their repayment totals through a server-side cursor.
+// Postgres only uses a cursor when autocommit is off, so callers must be inside a transaction.
+@Repository
+public class LoanExportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoanExportRepository(DataSource dataSource, @Value("${loan.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    // Each source is filtered on its own, so both halves of the UNION ALL can use their created_at indexes
+    public void streamLoans(LocalDateTime createdFrom, LocalDateTime createdTo, Collection<Loan.LoanStatus> statuses,
+            boolean includeArchived, RowCallbackHandler handler) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(select("loans", "repayments", false, createdFrom, createdTo, statuses, args));
+        if (includeArchived) {
+            sql.append(" UNION ALL ")
+                    .append(select("loans_archive", "repayments_archive", true, createdFrom, createdTo, statuses, args));
+        }
+        sql.append(" ORDER BY created_at, loan_id");
+
+        jdbcTemplate.query(sql.toString(), handler, args.toArray());
+    }
+
+    private static String select(String loans, String repayments, boolean archived, LocalDateTime createdFrom,
+            LocalDateTime createdTo, Collection<Loan.LoanStatus> statuses, List<Object> args) {
+        StringBuilder sql = new StringBuilder("""
+                (SELECT l.loan_id, l.user_id, l.loan_type, l.status, l.interest_mode, l.principal_amount,
+                       l.interest_rate, l.tenure_months, l.total_repayable, l.amount_paid,
+                       r.installments, r.paid_installments, r.overdue_installments, r.repaid_total,
+                       l.created_at, l.updated_at, %s AS archived
+                FROM %s l
+                LEFT JOIN LATERAL (
+                    SELECT COUNT(*) AS installments,
+                           COUNT(*) FILTER (WHERE rp.status = 'PAID') AS paid_installments,
+                           COUNT(*) FILTER (WHERE rp.status = 'OVERDUE') AS overdue_installments,
+                           COALESCE(SUM(COALESCE(rp.paid_amount, rp.amount))
+                                    FILTER (WHERE rp.paid_amount IS NOT NULL OR rp.status = 'PAID'), 0) AS repaid_total
+                    FROM %s rp
+                    WHERE rp.loan_id = l.loan_id
+                ) r ON TRUE
+                WHERE 1 = 1
+                """.formatted(archived, loans, repayments));
+        if (createdFrom != null) {
+            sql.append(" AND l.created_at >= ?");
+            args.add(Timestamp.valueOf(createdFrom));
+        }
+        if (createdTo != null) {
+            sql.append(" AND l.created_at < ?");
+            args.add(Timestamp.valueOf(createdTo));
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            sql.append(" AND l.status IN (").append(String.join(", ", statuses.stream().map(s -> "?").toList())).append(")");
+            statuses.forEach(status -> args.add(status.name()));
+        }
+        return sql.append(")").toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Set-based duplicate check and batched inserts for the bulk loan import
+@Repository
+@RequiredArgsConstructor
+public class LoanImportRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO loans (loan_id, user_id, loan_type, principal_amount, interest_rate, tenure_months,
+                               status, interest_mode, total_repayable, amount_paid, version, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // "userId|loanType" for every open loan (PENDING/APPROVED/ACTIVE) held by the given users
+    public Set<String> findOpenLoanKeys(Collection<String> userIds) {
+        Set<String> keys = new HashSet<>();
+        jdbcTemplate.query("""
+                SELECT DISTINCT user_id, loan_type FROM loans
+                WHERE user_id IN (:userIds) AND status IN ('PENDING', 'APPROVED', 'ACTIVE')
+                """,
+                new MapSqlParameterSource("userIds", userIds),
+                rs -> {
+                    keys.add(rs.getString("user_id") + "|" + rs.getString("loan_type"));
+                });
+        return keys;
+    }
+
+    public void insertAll(List<Loan> loans) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, loans, loans.size(), (ps, loan) -> {
+            ps.setObject(1, loan.getId());
+            ps.setString(2, loan.getUserId());
+            ps.setString(3, loan.getLoanType().name());
+            ps.setBigDecimal(4, loan.getPrincipalAmount().toBigDecimal());
+            ps.setBigDecimal(5, loan.getInterestRate());
+            ps.setInt(6, loan.getTenureMonths());
+            ps.setString(7, loan.getStatus().name());
+            ps.setString(8, loan.getInterestMode().name());
+            ps.setBigDecimal(9, loan.getTotalRepayable().toBigDecimal());
+            ps.setBigDecimal(10, loan.getAmountPaid().toBigDecimal());
+            ps.setTimestamp(11, Timestamp.valueOf(loan.getCreatedAt()));
+            ps.setTimestamp(12, Timestamp.valueOf(loan.getUpdatedAt()));
+        });
+    }
+}
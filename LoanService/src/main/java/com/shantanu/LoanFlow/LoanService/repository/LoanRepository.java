@@ -1,16 +1,87 @@
 package com.shantanu.LoanFlow.LoanService.repository;
 
+import com.shantanu.LoanFlow.LoanService.dto.BalanceDiscrepancy;
+import com.shantanu.LoanFlow.LoanService.dto.LoanResponse;
 import com.shantanu.LoanFlow.LoanService.entity.Loan;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface LoanRepository extends JpaRepository<Loan, UUID> {
+public interface LoanRepository extends JpaRepository<Loan, UUID>, LoanRepositoryCustom {
+    // Read paths select straight into LoanResponse: no managed entities, no snapshots for dirty checking
+    String RESPONSE_PROJECTION = "SELECT new com.shantanu.LoanFlow.LoanService.dto.LoanResponse("
+            + "l.id, l.userId, l.loanType, l.principalAmount, l.interestRate, l.tenureMonths, l.interestMode, "
+            + "l.status, l.createdAt, l.updatedAt) FROM Loan l";
+
     List<Loan> findByUserId(String userId);
 
+    @Query(RESPONSE_PROJECTION + " WHERE l.userId = :userId")
+    List<LoanResponse> findResponsesByUserId(@Param("userId") String userId);
+
+    @Query(RESPONSE_PROJECTION + " WHERE l.id = :id")
+    Optional<LoanResponse> findResponseById(@Param("id") UUID id);
+
+    @Query(RESPONSE_PROJECTION)
+    List<LoanResponse> findAllResponses();
+
     boolean existsByUserIdAndLoanTypeAndStatusIn(String userId, Loan.LoanType loanType, List<Loan.LoanStatus> statuses);
+
+    @Query(value = "SELECT l.loan_id FROM loans l WHERE l.total_repayable IS NULL OR l.amount_paid IS NULL LIMIT :limit",
+            nativeQuery = true)
+    List<UUID> findIdsMissingBalance(@Param("limit") int limit);
+
+    // Re-derives the running balance from the loan terms, the schedule and what has been paid.
+    // FLAT totals mirror InterestCalculator.flatTotalRepayable; EMI totals are the schedule sum,
+    // so an EMI loan that has no schedule yet keeps its stored total.
+    @Modifying
+    @Query(value = """
+            UPDATE loans l
+            SET total_repayable = CASE
+                    WHEN l.interest_mode = 'EMI' THEN COALESCE(
+                            (SELECT SUM(r.amount) FROM repayments r
+                             WHERE r.loan_id = l.loan_id AND r.installment_number IS NOT NULL),
+                            l.total_repayable)
+                    ELSE l.principal_amount
+                            + ROUND(l.principal_amount * l.interest_rate * l.tenure_months / 1200, 2)
+                END,
+                amount_paid = COALESCE((SELECT SUM(COALESCE(r.paid_amount, r.amount)) FROM repayments r
+                                        WHERE r.loan_id = l.loan_id
+                                          AND (r.paid_amount IS NOT NULL OR r.status = 'PAID')), 0),
+                version = l.version + 1
+            WHERE l.loan_id IN (:loanIds)
+            """, nativeQuery = true)
+    int recomputeBalances(@Param("loanIds") Collection<UUID> loanIds);
+
+    @Query(value = """
+            SELECT e.loan_id AS "loanId",
+                   e.total_repayable AS "totalRepayable",
+                   e.amount_paid AS "amountPaid",
+                   e.expected_total AS "expectedTotalRepayable",
+                   e.expected_paid AS "expectedAmountPaid"
+            FROM (SELECT l.loan_id, l.total_repayable, l.amount_paid,
+                         CASE
+                             WHEN l.interest_mode = 'EMI' THEN COALESCE(p.scheduled, l.total_repayable)
+                             ELSE l.principal_amount
+                                     + ROUND(l.principal_amount * l.interest_rate * l.tenure_months / 1200, 2)
+                         END AS expected_total,
+                         COALESCE(p.paid, 0) AS expected_paid
+                  FROM loans l
+                  LEFT JOIN (SELECT r.loan_id,
+                                    SUM(r.amount) FILTER (WHERE r.installment_number IS NOT NULL) AS scheduled,
+                                    SUM(COALESCE(r.paid_amount, r.amount))
+                                        FILTER (WHERE r.paid_amount IS NOT NULL OR r.status = 'PAID') AS paid
+                             FROM repayments r
+                             GROUP BY r.loan_id) p ON p.loan_id = l.loan_id) e
+            WHERE e.total_repayable IS DISTINCT FROM e.expected_total
+               OR e.amount_paid IS DISTINCT FROM e.expected_paid
+            """, nativeQuery = true)
+    List<BalanceDiscrepancy> findBalanceDiscrepancies();
 }
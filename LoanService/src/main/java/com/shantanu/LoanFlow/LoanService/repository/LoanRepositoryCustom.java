@@ -0,0 +1,12 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.dto.LoanCursor;
+import com.shantanu.LoanFlow.LoanService.dto.LoanResponse;
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+
+import java.util.List;
+
+public interface LoanRepositoryCustom {
+    // Newest-first keyset page projected straight into LoanResponse; status, loanType and after are optional
+    List<LoanResponse> findKeysetPage(Loan.LoanStatus status, Loan.LoanType loanType, LoanCursor after, int limit);
+}
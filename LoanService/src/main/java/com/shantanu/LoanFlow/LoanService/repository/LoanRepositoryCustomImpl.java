@@ -0,0 +1,60 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.dto.LoanCursor;
+import com.shantanu.LoanFlow.LoanService.dto.LoanResponse;
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class LoanRepositoryCustomImpl implements LoanRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LoanResponse> findKeysetPage(Loan.LoanStatus status, Loan.LoanType loanType, LoanCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LoanResponse> query = cb.createQuery(LoanResponse.class);
+        Root<Loan> loan = query.from(Loan.class);
+
+        // Only add the predicates that are actually set so the planner sees a plain range condition
+        List<Predicate> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(cb.equal(loan.get("status"), status));
+        }
+        if (loanType != null) {
+            predicates.add(cb.equal(loan.get("loanType"), loanType));
+        }
+        if (after != null) {
+            // (created_at, loan_id) < (c, i). Criteria has no row-value comparison, and the planner cannot turn
+            // the OR below into an index bound, so the redundant created_at <= c gives it the range to start from.
+            predicates.add(cb.lessThanOrEqualTo(loan.<LocalDateTime>get("createdAt"), after.getCreatedAt()));
+            predicates.add(cb.or(
+                    cb.lessThan(loan.<LocalDateTime>get("createdAt"), after.getCreatedAt()),
+                    cb.and(
+                            cb.equal(loan.get("createdAt"), after.getCreatedAt()),
+                            cb.lessThan(loan.<UUID>get("id"), after.getId()))));
+        }
+
+        // Same projection as LoanRepository.RESPONSE_PROJECTION
+        query.select(cb.construct(LoanResponse.class,
+                        loan.get("id"), loan.get("userId"), loan.get("loanType"), loan.get("principalAmount"),
+                        loan.get("interestRate"), loan.get("tenureMonths"), loan.get("interestMode"),
+                        loan.get("status"), loan.get("createdAt"), loan.get("updatedAt")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(loan.get("createdAt")), cb.desc(loan.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,33 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.entity.LoanStatusHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class LoanStatusHistoryRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO loan_status_history (id, loan_id, from_status, to_status, changed_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Idempotent, so a batch retried after a partial failure does not trip over its own rows
+    public void insertAll(List<LoanStatusHistory> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setObject(1, entry.getId());
+            ps.setObject(2, entry.getLoanId());
+            ps.setString(3, entry.getFromStatus() != null ? entry.getFromStatus().name() : null);
+            ps.setString(4, entry.getToStatus().name());
+            ps.setTimestamp(5, Timestamp.valueOf(entry.getChangedAt()));
+        });
+    }
+}
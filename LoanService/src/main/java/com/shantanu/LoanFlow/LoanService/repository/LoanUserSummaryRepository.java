@@ -0,0 +1,137 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.dto.LoanUserSummaryResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Repository
+@RequiredArgsConstructor
+public class LoanUserSummaryRepository {
+
+    private static final long REBUILD_LOCK = 0x73756d6d617279L; // "summary"
+
+    private static final String USERS_BY_ID = "SELECT unnest(CAST(:userIds AS text[])) AS user_id";
+
+    // The next users after a key, from loans and from existing summaries (users whose loans have all been
+    // archived still need their row zeroed). Each side walks its user_id index and stops after :limit users.
+    private static final String NEXT_USERS_SQL = """
+            SELECT user_id FROM (
+                (SELECT DISTINCT user_id FROM loans WHERE user_id > :after ORDER BY user_id LIMIT :limit)
+                UNION
+                (SELECT user_id FROM loan_user_summaries WHERE user_id > :after ORDER BY user_id LIMIT :limit)
+            ) u ORDER BY user_id LIMIT :limit
+            """;
+
+    // Inserts a placeholder row for new users and locks every row in user_id order, waiting out any
+    // concurrent refresh of the same users
+    private static final String LOCK_SQL = """
+            INSERT INTO loan_user_summaries (user_id, pending_count, active_count, total_principal, total_outstanding, updated_at)
+            SELECT user_id, 0, 0, 0, 0, :now FROM (%s) u ORDER BY user_id
+            ON CONFLICT (user_id) DO UPDATE SET updated_at = EXCLUDED.updated_at
+            """;
+
+    // A separate statement from the lock, so under READ COMMITTED it reads a snapshot that already
+    // includes whatever the refresh it waited for committed
+    private static final String REFRESH_SQL = """
+            INSERT INTO loan_user_summaries (user_id, pending_count, active_count, total_principal, total_outstanding,
+                                             next_due_date, updated_at)
+            SELECT u.user_id,
+                   COUNT(l.loan_id) FILTER (WHERE l.status = 'PENDING'),
+                   COUNT(l.loan_id) FILTER (WHERE l.status IN ('APPROVED', 'ACTIVE')),
+                   COALESCE(SUM(l.principal_amount) FILTER (WHERE l.status IN ('APPROVED', 'ACTIVE')), 0),
+                   COALESCE(SUM(l.total_repayable - l.amount_paid) FILTER (WHERE l.status IN ('APPROVED', 'ACTIVE')), 0),
+                   MIN(r.next_due_date),
+                   :now
+            FROM (%s) u
+            LEFT JOIN loans l ON l.user_id = u.user_id AND l.status IN ('PENDING', 'APPROVED', 'ACTIVE')
+            LEFT JOIN LATERAL (
+                SELECT MIN(due_date) AS next_due_date FROM repayments
+                WHERE loan_id = l.loan_id AND status IN ('PENDING', 'OVERDUE')
+            ) r ON l.status IN ('APPROVED', 'ACTIVE')
+            GROUP BY u.user_id
+            ON CONFLICT (user_id) DO UPDATE SET
+                pending_count = EXCLUDED.pending_count,
+                active_count = EXCLUDED.active_count,
+                total_principal = EXCLUDED.total_principal,
+                total_outstanding = EXCLUDED.total_outstanding,
+                next_due_date = EXCLUDED.next_due_date,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<LoanUserSummaryResponse> findByUserId(String userId) {
+        return jdbcTemplate.query("""
+                        SELECT user_id, pending_count, active_count, total_principal, total_outstanding, next_due_date, updated_at
+                        FROM loan_user_summaries WHERE user_id = :userId
+                        """,
+                new MapSqlParameterSource("userId", userId),
+                (rs, rowNum) -> LoanUserSummaryResponse.builder()
+                        .userId(rs.getString("user_id"))
+                        .pendingCount(rs.getLong("pending_count"))
+                        .activeCount(rs.getLong("active_count"))
+                        .totalPrincipal(rs.getBigDecimal("total_principal"))
+                        .totalOutstanding(rs.getBigDecimal("total_outstanding"))
+                        .nextDueDate(rs.getDate("next_due_date") != null
+                                ? rs.getDate("next_due_date").toLocalDate() : null)
+                        .updatedAt(rs.getTimestamp("updated_at") != null
+                                ? rs.getTimestamp("updated_at").toLocalDateTime() : null)
+                        .build())
+                .stream()
+                .findFirst();
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM loan_user_summaries)", Boolean.class));
+    }
+
+    // Recomputes the given users from loans and repayments; runs in the caller's transaction
+    public int refresh(Collection<String> userIds, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userIds", userIds.toArray(String[]::new))
+                .addValue("now", now);
+        return refresh(USERS_BY_ID, params);
+    }
+
+    // Up to limit user ids greater than after, in order; pass "" for the first chunk
+    public List<String> nextUsers(String after, int limit) {
+        return jdbcTemplate.queryForList(NEXT_USERS_SQL,
+                new MapSqlParameterSource("after", after).addValue("limit", limit), String.class);
+    }
+
+    // Runs work holding a session advisory lock on one dedicated connection, since a rebuild spans many
+    // transactions on other connections. Empty, without running it, if another pod holds the lock.
+    public <T> Optional<T> whileLockedForRebuild(Supplier<T> work) {
+        return jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Optional<T>>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery("SELECT pg_try_advisory_lock(" + REBUILD_LOCK + ")")) {
+                    if (!rs.next() || !rs.getBoolean(1)) {
+                        return Optional.empty();
+                    }
+                }
+                try {
+                    return Optional.of(work.get());
+                } finally {
+                    statement.execute("SELECT pg_advisory_unlock(" + REBUILD_LOCK + ")");
+                }
+            }
+        });
+    }
+
+    private int refresh(String users, MapSqlParameterSource params) {
+        jdbcTemplate.update(LOCK_SQL.formatted(users), params);
+        return jdbcTemplate.update(REFRESH_SQL.formatted(users), params);
+    }
+}
@@ -0,0 +1,73 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO loan_outbox (aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void appendAll(List<OutboxEvent> events) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.getAggregateId());
+            ps.setString(2, event.getEventType());
+            ps.setString(3, event.getPayload());
+            ps.setTimestamp(4, Timestamp.valueOf(event.getCreatedAt()));
+        });
+    }
+
+    // Leases the oldest events not already leased, in a statement of its own so no row lock outlives it.
+    // SKIP LOCKED lets several relay instances claim disjoint batches at the same moment; the lease keeps
+    // the rows theirs while they publish outside any transaction.
+    public List<OutboxEvent> claimBatch(int limit, Duration lease) {
+        List<OutboxEvent> batch = jdbcTemplate.query("""
+                UPDATE loan_outbox o SET leased_until = now() + :leaseMillis * interval '1 millisecond'
+                FROM (SELECT id FROM loan_outbox
+                      WHERE leased_until IS NULL OR leased_until < now()
+                      ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) claimed
+                WHERE o.id = claimed.id
+                RETURNING o.id, o.aggregate_id, o.event_type, o.payload, o.created_at, o.leased_until
+                """,
+                new MapSqlParameterSource("limit", limit).addValue("leaseMillis", lease.toMillis()),
+                (rs, rowNum) -> OutboxEvent.builder()
+                        .id(rs.getLong("id"))
+                        .aggregateId(rs.getObject("aggregate_id", UUID.class))
+                        .eventType(rs.getString("event_type"))
+                        .payload(rs.getString("payload"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .leasedUntil(rs.getTimestamp("leased_until").toLocalDateTime())
+                        .build());
+        // RETURNING does not keep the subquery's order
+        return batch.stream().sorted(Comparator.comparing(OutboxEvent::getId)).toList();
+    }
+
+    // Hands a batch the sink refused back to the next poll instead of waiting out the lease
+    public void release(Collection<Long> ids) {
+        jdbcTemplate.update("UPDATE loan_outbox SET leased_until = NULL WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+
+    public void deleteAll(Collection<Long> ids) {
+        jdbcTemplate.update("DELETE FROM loan_outbox WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM loan_outbox", Long.class);
+        return count != null ? count : 0;
+    }
+}
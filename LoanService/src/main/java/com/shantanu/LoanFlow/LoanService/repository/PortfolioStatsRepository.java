@@ -0,0 +1,104 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.PortfolioStat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class PortfolioStatsRepository {
+
+    // Advisory lock keys: one pod recomputes at a time, and flushes hold the stats lock shared so they
+    // never interleave with a recompute's rewrite
+    private static final long RECOMPUTE_LOCK = 0x73746174735231L;
+    private static final long STATS_LOCK = 0x7374617473L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<PortfolioStat> findAll() {
+        return jdbcTemplate.query("SELECT loan_type, status, loan_count, principal_total, outstanding_total, updated_at,"
+                        + " recomputed_at FROM loan_portfolio_stats",
+                (rs, rowNum) -> PortfolioStat.builder()
+                        .loanType(Loan.LoanType.valueOf(rs.getString("loan_type")))
+                        .status(Loan.LoanStatus.valueOf(rs.getString("status")))
+                        .loanCount(rs.getLong("loan_count"))
+                        .principalTotal(rs.getBigDecimal("principal_total"))
+                        .outstandingTotal(rs.getBigDecimal("outstanding_total"))
+                        .updatedAt(rs.getTimestamp("updated_at") != null
+                                ? rs.getTimestamp("updated_at").toLocalDateTime() : null)
+                        .recomputedAt(rs.getTimestamp("recomputed_at") != null
+                                ? rs.getTimestamp("recomputed_at").toLocalDateTime() : null)
+                        .build());
+    }
+
+    // When the last full recompute ran, by the clock of the pod that ran it; null if none has
+    public LocalDateTime recomputedAt() {
+        Timestamp recomputedAt = jdbcTemplate.queryForObject(
+                "SELECT MAX(recomputed_at) FROM loan_portfolio_stats", Timestamp.class);
+        return recomputedAt != null ? recomputedAt.toLocalDateTime() : null;
+    }
+
+    // Transaction-scoped; waits for any recompute in progress to commit
+    public void lockForFlush() {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock_shared(?)::text", String.class, STATS_LOCK);
+    }
+
+    // Transaction-scoped; false if another pod is already recomputing, otherwise waits out in-flight flushes
+    public boolean tryLockForRecompute() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RECOMPUTE_LOCK))) {
+            return false;
+        }
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)::text", String.class, STATS_LOCK);
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM loan_portfolio_stats)", Boolean.class));
+    }
+
+    // Adds the deltas onto the stored totals; commutative, so concurrent flushes from several pods are safe
+    public void applyDeltas(Map<PortfolioStat.Key, PortfolioStat> deltas, LocalDateTime now) {
+        List<Object[]> rows = deltas.values().stream()
+                .map(delta -> new Object[]{
+                        delta.getLoanType().name(), delta.getStatus().name(), delta.getLoanCount(),
+                        delta.getPrincipalTotal(), delta.getOutstandingTotal(), Timestamp.valueOf(now)})
+                .toList();
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO loan_portfolio_stats (loan_type, status, loan_count, principal_total, outstanding_total, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON CONFLICT (loan_type, status) DO UPDATE SET
+                    loan_count = loan_portfolio_stats.loan_count + EXCLUDED.loan_count,
+                    principal_total = loan_portfolio_stats.principal_total + EXCLUDED.principal_total,
+                    outstanding_total = loan_portfolio_stats.outstanding_total + EXCLUDED.outstanding_total,
+                    updated_at = EXCLUDED.updated_at
+                """, rows);
+    }
+
+    // Rebuilds every bucket from loans; callers run this in one transaction, holding tryLockForRecompute
+    public void recomputeAll(LocalDateTime now) {
+        jdbcTemplate.update("DELETE FROM loan_portfolio_stats");
+        jdbcTemplate.update("""
+                INSERT INTO loan_portfolio_stats (loan_type, status, loan_count, principal_total, outstanding_total,
+                                                  updated_at, recomputed_at)
+                SELECT loan_type, status, COUNT(*), SUM(principal_amount),
+                       -- Same statuses as PortfolioStatsService.OUTSTANDING_STATUSES
+                       COALESCE(SUM(total_repayable - amount_paid) FILTER (WHERE status IN ('APPROVED', 'ACTIVE')), 0), ?, ?
+                FROM (
+                    SELECT loan_type, status, principal_amount, total_repayable, amount_paid FROM loans
+                    -- Archived loans are still part of the book; archiving must not move the numbers
+                    UNION ALL
+                    SELECT loan_type, status, principal_amount, total_repayable, amount_paid FROM loans_archive
+                ) l
+                GROUP BY loan_type, status
+                """, Timestamp.valueOf(now), Timestamp.valueOf(now));
+    }
+}
@@ -0,0 +1,94 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.entity.Repayment;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// JDBC access for installment rows in bulk: schedule inserts and overdue sweeps
+@Repository
+@RequiredArgsConstructor
+public class RepaymentBatchRepository {
+
+    private static final long OVERDUE_LOCK = 0x6f76657264756531L; // "overdue1"
+
+    private static final String INSERT_SQL = """
+            INSERT INTO repayments (id, loan_id, installment_number, amount, principal_component,
+                                    interest_component, paid_amount, due_date, paid_date, status)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${loan.schedule.insert-batch-size:1000}")
+    private int batchSize;
+
+    public void insertAll(List<Repayment> repayments) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, repayments, batchSize, (ps, repayment) -> {
+            ps.setObject(1, repayment.getId());
+            ps.setObject(2, repayment.getLoanId());
+            ps.setObject(3, repayment.getInstallmentNumber());
+            ps.setBigDecimal(4, repayment.getAmount().toBigDecimal());
+            ps.setBigDecimal(5, Money.toBigDecimal(repayment.getPrincipalComponent()));
+            ps.setBigDecimal(6, Money.toBigDecimal(repayment.getInterestComponent()));
+            ps.setBigDecimal(7, Money.toBigDecimal(repayment.getPaidAmount()));
+            ps.setDate(8, Date.valueOf(repayment.getDueDate()));
+            ps.setDate(9, repayment.getPaidDate() != null ? Date.valueOf(repayment.getPaidDate()) : null);
+            ps.setString(10, repayment.getStatus().name());
+        });
+    }
+
+    // Flips the next chunk of past-due PENDING installments, in (due_date, id) order after the given key,
+    // to OVERDUE. Returns the key of the last row in the chunk, or null when nothing is left.
+    public OverdueChunk markOverdue(LocalDate today, LocalDate afterDueDate, UUID afterId, int limit) {
+        String keyset = afterDueDate != null ? " AND (due_date, id) > (?, ?)" : "";
+        String sql = "WITH chunk AS ("
+                + " SELECT id, due_date FROM repayments"
+                + " WHERE status = 'PENDING' AND due_date < ?" + keyset
+                + " ORDER BY due_date, id LIMIT ? FOR UPDATE SKIP LOCKED),"
+                + " updated AS (UPDATE repayments r SET status = 'OVERDUE' FROM chunk WHERE r.id = chunk.id RETURNING r.id)"
+                + " SELECT c.due_date, c.id, (SELECT COUNT(*) FROM updated) AS updated_count"
+                + " FROM chunk c ORDER BY c.due_date DESC, c.id DESC LIMIT 1";
+
+        Object[] args = afterDueDate != null
+                ? new Object[]{Date.valueOf(today), Date.valueOf(afterDueDate), afterId, limit}
+                : new Object[]{Date.valueOf(today), limit};
+        List<OverdueChunk> result = jdbcTemplate.query(sql, (rs, rowNum) -> new OverdueChunk(
+                rs.getDate("due_date").toLocalDate(),
+                rs.getObject("id", UUID.class),
+                rs.getInt("updated_count")), args);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    // Flips up to limit past-due PENDING installments to OVERDUE regardless of keyset position, waiting on
+    // rows a concurrent payment has locked instead of skipping them. Run once the keyset walk has finished,
+    // it catches the rows that walk skipped while they were locked.
+    public int markRemainingOverdue(LocalDate today, int limit) {
+        return jdbcTemplate.update("""
+                WITH chunk AS (
+                    SELECT id FROM repayments WHERE status = 'PENDING' AND due_date < ?
+                    ORDER BY due_date, id LIMIT ? FOR UPDATE)
+                UPDATE repayments r SET status = 'OVERDUE' FROM chunk WHERE r.id = chunk.id
+                """, Date.valueOf(today), limit);
+    }
+
+    // Transaction-scoped; false if another pod is running the overdue sweep
+    public boolean tryLockForOverdueSweep() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, OVERDUE_LOCK));
+    }
+
+    @lombok.Value
+    public static class OverdueChunk {
+        LocalDate lastDueDate;
+        UUID lastId;
+        int updated;
+    }
+}
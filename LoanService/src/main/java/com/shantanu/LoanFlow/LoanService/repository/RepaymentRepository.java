@@ -1,13 +1,28 @@
 package com.shantanu.LoanFlow.LoanService.repository;
 
 import com.shantanu.LoanFlow.LoanService.entity.Repayment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface RepaymentRepository extends JpaRepository<Repayment, UUID> {
     List<Repayment> findByLoanId(UUID loanId);
+
+    List<Repayment> findByLoanIdAndStatusInOrderByInstallmentNumberAsc(UUID loanId,
+            Collection<Repayment.RepaymentStatus> statuses, Pageable pageable);
+
+    List<Repayment> findByLoanIdAndInstallmentNumberNotNullOrderByInstallmentNumberAsc(UUID loanId);
+
+    // Native so the sum stays a plain numeric rather than going through the Money converter
+    @Query(value = "SELECT COALESCE(SUM(amount), 0) FROM repayments WHERE loan_id = :loanId AND status = 'PAID'",
+            nativeQuery = true)
+    BigDecimal sumPaidAmountByLoanId(@Param("loanId") UUID loanId);
 }
@@ -0,0 +1,168 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.Repayment;
+import com.shantanu.LoanFlow.LoanService.exception.InvalidLoanStateException;
+import com.shantanu.LoanFlow.LoanService.repository.RepaymentBatchRepository;
+import com.shantanu.LoanFlow.LoanService.repository.RepaymentRepository;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import com.shantanu.LoanFlow.LoanService.util.UuidV7;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class AmortizationEngine {
+
+    private static final List<Repayment.RepaymentStatus> OPEN_STATUSES =
+            List.of(Repayment.RepaymentStatus.PENDING, Repayment.RepaymentStatus.OVERDUE);
+
+    // Installments fetched per round while allocating a payment; most payments touch only the first one
+    private static final int ALLOCATION_PAGE_SIZE = 12;
+
+    private final InterestCalculator interestCalculator;
+    private final RepaymentRepository repaymentRepository;
+    private final RepaymentBatchRepository repaymentBatchRepository;
+    private final LoanMetrics loanMetrics;
+
+    public static Loan.InterestMode modeOf(Loan loan) {
+        return loan.getInterestMode() != null ? loan.getInterestMode() : Loan.InterestMode.FLAT;
+    }
+
+    // Sum of the installments buildSchedule would produce
+    public Money totalRepayable(Loan loan) {
+        if (modeOf(loan) == Loan.InterestMode.FLAT) {
+            return interestCalculator.flatTotalRepayable(loan);
+        }
+        long total = 0;
+        for (Repayment installment : buildSchedule(loan, LocalDate.now())) {
+            total = Math.addExact(total, installment.getAmount().cents());
+        }
+        return Money.ofCents(total);
+    }
+
+    // First installment falls due one month after approval
+    public List<Repayment> buildSchedule(Loan loan, LocalDate approvalDate) {
+        return modeOf(loan) == Loan.InterestMode.EMI
+                ? buildEmiSchedule(loan, approvalDate)
+                : buildFlatSchedule(loan, approvalDate);
+    }
+
+    public void generateSchedule(Loan loan, LocalDate approvalDate) {
+        repaymentBatchRepository.insertAll(buildSchedule(loan, approvalDate));
+    }
+
+    public void generateSchedules(List<Loan> loans, LocalDate approvalDate) {
+        List<Repayment> installments = new ArrayList<>();
+        for (Loan loan : loans) {
+            installments.addAll(buildSchedule(loan, approvalDate));
+        }
+        repaymentBatchRepository.insertAll(installments);
+    }
+
+    // Applies the payment to the oldest open installments first.
+    // Returns false when the loan has no schedule (approved before schedules existed).
+    public boolean applyPayment(UUID loanId, Money amount, LocalDate paidDate) {
+        Money remaining = amount;
+        boolean scheduled = false;
+        int read = 0;
+        while (remaining.signum() > 0) {
+            List<Repayment> open = repaymentRepository.findByLoanIdAndStatusInOrderByInstallmentNumberAsc(
+                    loanId, OPEN_STATUSES, PageRequest.of(0, ALLOCATION_PAGE_SIZE));
+            if (open.isEmpty()) {
+                break;
+            }
+            scheduled = true;
+            read += open.size();
+            remaining = allocate(open, remaining, paidDate);
+            // Flush so installments that just became PAID drop out of the next page
+            repaymentRepository.saveAllAndFlush(open);
+        }
+        if (scheduled) {
+            loanMetrics.repaymentHistorySize(read);
+        }
+        if (scheduled && remaining.signum() > 0) {
+            throw new InvalidLoanStateException("Repayment amount exceeds the open installments.");
+        }
+        return scheduled;
+    }
+
+    // Runs in cents; the only allocation per installment is its new paid amount
+    Money allocate(List<Repayment> openInstallments, Money amount, LocalDate paidDate) {
+        long remaining = amount.cents();
+        for (Repayment installment : openInstallments) {
+            if (remaining == 0) {
+                break;
+            }
+            long due = installment.getAmount().cents();
+            long alreadyPaid = installment.getPaidAmount() != null ? installment.getPaidAmount().cents() : 0;
+            long applied = Math.min(remaining, due - alreadyPaid);
+            installment.setPaidAmount(Money.ofCents(alreadyPaid + applied));
+            remaining -= applied;
+            if (alreadyPaid + applied >= due) {
+                installment.setStatus(Repayment.RepaymentStatus.PAID);
+                installment.setPaidDate(paidDate);
+            }
+        }
+        return Money.ofCents(remaining);
+    }
+
+    private List<Repayment> buildEmiSchedule(Loan loan, LocalDate approvalDate) {
+        int months = loan.getTenureMonths();
+        BigDecimal rate = interestCalculator.monthlyRate(loan);
+        Money emi = interestCalculator.emi(loan);
+        Money balance = loan.getPrincipalAmount();
+
+        List<Repayment> schedule = new ArrayList<>(months);
+        for (int i = 1; i <= months; i++) {
+            // The rate is not a whole number of cents, so each month's interest is rounded in BigDecimal
+            Money interest = Money.of(balance.toBigDecimal().multiply(rate));
+            // The last installment clears whatever rounding has left on the balance
+            Money principal = i == months ? balance : emi.minus(interest).min(balance);
+            balance = balance.minus(principal);
+            schedule.add(installment(loan, i, principal, interest, approvalDate));
+        }
+        return schedule;
+    }
+
+    private List<Repayment> buildFlatSchedule(Loan loan, LocalDate approvalDate) {
+        int months = loan.getTenureMonths();
+        Money totalInterest = interestCalculator.flatInterest(loan);
+        Money monthlyPrincipal = loan.getPrincipalAmount().dividedBy(months);
+        Money monthlyInterest = totalInterest.dividedBy(months);
+
+        List<Repayment> schedule = new ArrayList<>(months);
+        for (int i = 1; i <= months; i++) {
+            boolean last = i == months;
+            Money principal = last
+                    ? loan.getPrincipalAmount().minus(monthlyPrincipal.times(months - 1L))
+                    : monthlyPrincipal;
+            Money interest = last
+                    ? totalInterest.minus(monthlyInterest.times(months - 1L))
+                    : monthlyInterest;
+            schedule.add(installment(loan, i, principal, interest, approvalDate));
+        }
+        return schedule;
+    }
+
+    private Repayment installment(Loan loan, int number, Money principal, Money interest, LocalDate approvalDate) {
+        return Repayment.builder()
+                .id(UuidV7.generate())
+                .loanId(loan.getId())
+                .installmentNumber(number)
+                .amount(principal.plus(interest))
+                .principalComponent(principal)
+                .interestComponent(interest)
+                .paidAmount(Money.ZERO)
+                .dueDate(approvalDate.plusMonths(number))
+                .status(Repayment.RepaymentStatus.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.dto.BulkTransitionFailure;
+import com.shantanu.LoanFlow.LoanService.dto.BulkTransitionRequest;
+import com.shantanu.LoanFlow.LoanService.dto.BulkTransitionResponse;
+import com.shantanu.LoanFlow.LoanService.dto.LoanStatusChangedEvent;
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.LoanStatusHistory;
+import com.shantanu.LoanFlow.LoanService.repository.LoanBulkRepository;
+import com.shantanu.LoanFlow.LoanService.repository.LoanBulkRepository.TransitionedLoan;
+import com.shantanu.LoanFlow.LoanService.repository.LoanRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class BulkTransitionService {
+
+    private static final int DEFAULT_FILTER_LIMIT = 1000;
+
+    private final LoanBulkRepository loanBulkRepository;
+    private final LoanRepository loanRepository;
+    private final AmortizationEngine amortizationEngine;
+    private final LoanReadCache loanReadCache;
+    private final PortfolioStatsService portfolioStatsService;
+    private final LoanOutboxService loanOutboxService;
+    private final LoanStatusHistoryWriter loanStatusHistoryWriter;
+    private final LoanUserSummaryService loanUserSummaryService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${loan.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    public BulkTransitionResponse approve(BulkTransitionRequest request) {
+        return transition(request, LoanStateMachine.Event.APPROVE);
+    }
+
+    public BulkTransitionResponse reject(BulkTransitionRequest request) {
+        return transition(request, LoanStateMachine.Event.REJECT);
+    }
+
+    private BulkTransitionResponse transition(BulkTransitionRequest request, LoanStateMachine.Event event) {
+        Loan.LoanStatus from = LoanStateMachine.sourceOf(event);
+        Loan.LoanStatus target = LoanStateMachine.next(from, event);
+        List<UUID> transitioned = new ArrayList<>();
+        List<BulkTransitionFailure> failures = new ArrayList<>();
+
+        if (request.getLoanIds() != null && !request.getLoanIds().isEmpty()) {
+            List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(request.getLoanIds()));
+            // One short transaction per chunk so a large batch never holds row locks for long
+            for (int start = 0; start < ids.size(); start += chunkSize) {
+                List<UUID> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+                transactionTemplate.executeWithoutResult(status ->
+                        transitionChunk(chunk, event, from, target, transitioned, failures));
+            }
+        } else if (request.getLoanType() != null || request.getCreatedBefore() != null) {
+            int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_FILTER_LIMIT;
+            while (transitioned.size() < limit) {
+                int batch = Math.min(chunkSize, limit - transitioned.size());
+                List<TransitionedLoan> updated = transactionTemplate.execute(status -> {
+                    List<TransitionedLoan> moved = loanBulkRepository.transitionMatching(
+                            request.getLoanType(), request.getCreatedBefore(), from, target, batch);
+                    afterTransition(moved, from, target);
+                    return moved;
+                });
+                updated.forEach(loan -> transitioned.add(loan.getLoanId()));
+                if (updated.size() < batch) {
+                    break;
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Provide loanIds or a filter (loanType, createdBefore).");
+        }
+
+        return BulkTransitionResponse.builder()
+                .targetStatus(target)
+                .transitioned(transitioned.size())
+                .transitionedIds(transitioned)
+                .failures(failures)
+                .build();
+    }
+
+    private void transitionChunk(List<UUID> chunk, LoanStateMachine.Event event, Loan.LoanStatus from,
+            Loan.LoanStatus target, List<UUID> transitioned, List<BulkTransitionFailure> failures) {
+        List<TransitionedLoan> updated = loanBulkRepository.transition(chunk, from, target);
+        afterTransition(updated, from, target);
+        Set<UUID> updatedIds = new HashSet<>();
+        updated.forEach(loan -> updatedIds.add(loan.getLoanId()));
+        // Walk the request's ids rather than the UPDATE's RETURNING rows, so results keep the caller's order
+        List<UUID> skipped = new ArrayList<>();
+        for (UUID id : chunk) {
+            if (updatedIds.contains(id)) {
+                transitioned.add(id);
+            } else {
+                skipped.add(id);
+            }
+        }
+        if (skipped.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Loan.LoanStatus> statuses = loanBulkRepository.findStatuses(skipped);
+        for (UUID id : skipped) {
+            Loan.LoanStatus current = statuses.get(id);
+            failures.add(new BulkTransitionFailure(id, current,
+                    current == null ? "Loan not found" : LoanStateMachine.rejectionMessage(event)));
+        }
+    }
+
+    private void afterTransition(List<TransitionedLoan> transitioned, Loan.LoanStatus from, Loan.LoanStatus target) {
+        if (transitioned.isEmpty()) {
+            return;
+        }
+        Map<UUID, String> owners = new HashMap<>();
+        List<LoanStatusChangedEvent> events = new ArrayList<>(transitioned.size());
+        List<LoanStatusHistory> history = new ArrayList<>(transitioned.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (TransitionedLoan loan : transitioned) {
+            owners.put(loan.getLoanId(), loan.getUserId());
+            portfolioStatsService.recordTransition(loan.getLoanType(), from, target,
+                    loan.getPrincipalAmount(), loan.getOutstanding(), loan.getOutstanding());
+            events.add(LoanStatusChangedEvent.builder()
+                    .loanId(loan.getLoanId())
+                    .userId(loan.getUserId())
+                    .loanType(loan.getLoanType())
+                    .fromStatus(from)
+                    .toStatus(target)
+                    .principalAmount(loan.getPrincipalAmount())
+                    .outstandingAmount(loan.getOutstanding())
+                    .occurredAt(now)
+                    .build());
+            history.add(LoanStatusHistoryWriter.entry(loan.getLoanId(), from, target, now));
+        }
+        loanOutboxService.appendAll(events);
+        loanStatusHistoryWriter.recordAll(history);
+        if (target == Loan.LoanStatus.APPROVED) {
+            amortizationEngine.generateSchedules(loanRepository.findAllById(owners.keySet()), LocalDate.now());
+        }
+        loanUserSummaryService.refreshAll(owners.values());
+        loanReadCache.evictAll(owners);
+    }
+}
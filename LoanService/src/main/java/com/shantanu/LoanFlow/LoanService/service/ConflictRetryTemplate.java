@@ -0,0 +1,53 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Re-runs an operation that lost an optimistic-lock race on a Loan row.
+// Must wrap the outermost transaction: a conflict marks that transaction rollback-only.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConflictRetryTemplate {
+
+    private final LoanMetrics loanMetrics;
+
+    @Value("${loan.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${loan.retry.backoff:PT0.02S}")
+    private Duration backoff;
+
+    public <T> T execute(Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                loanMetrics.conflictRetry();
+                log.debug("Optimistic lock conflict, retrying (attempt {} of {})", attempt + 1, maxAttempts);
+                sleep(attempt);
+            }
+        }
+    }
+
+    private void sleep(int attempt) {
+        // Linear backoff with jitter so colliding requests do not retry in lockstep
+        long base = backoff.toMillis() * attempt;
+        try {
+            Thread.sleep(base + ThreadLocalRandom.current().nextLong(base + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+}
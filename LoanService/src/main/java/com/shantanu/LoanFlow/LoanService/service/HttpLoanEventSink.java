@@ -0,0 +1,60 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.shantanu.LoanFlow.LoanService.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+// POSTs each batch as a JSON array; any non-2xx response fails the batch so it is redelivered.
+// Bounded connect and read timeouts keep a hung endpoint from stalling the relay past its lease.
+@Component
+@ConditionalOnProperty(name = "loan.outbox.sink", havingValue = "http")
+public class HttpLoanEventSink implements LoanEventSink {
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+
+    public HttpLoanEventSink(RestClient.Builder builder, ObjectMapper objectMapper,
+            @Value("${loan.outbox.http.url}") String url,
+            @Value("${loan.outbox.http.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${loan.outbox.http.read-timeout:PT10S}") Duration readTimeout) {
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
+                .withConnectTimeout(connectTimeout)
+                .withReadTimeout(readTimeout);
+        this.restClient = builder.baseUrl(url)
+                .requestFactory(ClientHttpRequestFactories.get(settings))
+                .build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "http";
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> batch) throws Exception {
+        ArrayNode body = objectMapper.createArrayNode();
+        for (OutboxEvent event : batch) {
+            ObjectNode node = body.addObject();
+            node.put("id", event.getId());
+            node.put("type", event.getEventType());
+            node.set("payload", objectMapper.readTree(event.getPayload()));
+        }
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,157 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shantanu.LoanFlow.LoanService.entity.IdempotencyRecord;
+import com.shantanu.LoanFlow.LoanService.exception.IdempotencyConflictException;
+import com.shantanu.LoanFlow.LoanService.repository.IdempotencyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+// Replays the stored response for a repeated Idempotency-Key instead of running the request again.
+// Completed responses are served from memory first; the idempotency_keys table is the durable record
+// and the claim on it stops two concurrent retries from both running.
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, IdempotencyRecord> completed;
+
+    @Value("${loan.idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${loan.idempotency.lease:PT30S}")
+    private Duration lease;
+
+    @Value("${loan.idempotency.cleanup-batch-size:1000}")
+    private int cleanupBatchSize;
+
+    public IdempotencyService(IdempotencyRepository idempotencyRepository, TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper, @Value("${loan.idempotency.cache-size:10000}") long cacheSize,
+            @Value("${loan.idempotency.cache-ttl:PT10M}") Duration cacheTtl) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    // fingerprint identifies the request body, so a key reused for a different request is rejected
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String userId, String fingerprint, Class<T> bodyType,
+            Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String id = userId + ":" + idempotencyKey;
+        String requestHash = sha256(fingerprint);
+
+        IdempotencyRecord cached = completed.getIfPresent(id);
+        if (cached != null) {
+            return replay(cached, requestHash, bodyType);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!idempotencyRepository.claim(id, requestHash, now, now.minus(lease))) {
+            IdempotencyRecord existing = idempotencyRepository.findById(id)
+                    .orElseThrow(() -> new IdempotencyConflictException("Idempotency-Key is being processed, retry shortly."));
+            if (existing.getStatus() != IdempotencyRecord.Status.COMPLETED) {
+                throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress.");
+            }
+            completed.put(id, existing);
+            return replay(existing, requestHash, bodyType);
+        }
+
+        try {
+            // The stored response commits together with the business change it describes
+            IdempotencyRecord record = transactionTemplate.execute(status -> {
+                ResponseEntity<T> response = action.get();
+                IdempotencyRecord done = IdempotencyRecord.builder()
+                        .id(id)
+                        .requestHash(requestHash)
+                        .status(IdempotencyRecord.Status.COMPLETED)
+                        .responseStatus(response.getStatusCode().value())
+                        .responseBody(write(response.getBody()))
+                        .build();
+                idempotencyRepository.complete(id, done.getResponseStatus(), done.getResponseBody(), LocalDateTime.now());
+                return done;
+            });
+            completed.put(id, record);
+            return replay(record, requestHash, bodyType);
+        } catch (RuntimeException e) {
+            // Nothing was committed, so let the client retry with the same key
+            idempotencyRepository.release(id);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${loan.idempotency.cleanup-interval:PT10M}")
+    public void deleteExpiredKeys() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = idempotencyRepository.deleteCreatedBefore(cutoff, cleanupBatchSize);
+            total += deleted;
+        } while (deleted == cleanupBatchSize);
+        if (total > 0) {
+            log.info("Deleted {} expired idempotency keys", total);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord record, String requestHash, Class<T> bodyType) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException("Idempotency-Key was already used for a different request.");
+        }
+        return ResponseEntity.status(record.getResponseStatus()).body(read(record.getResponseBody(), bodyType));
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store idempotent response", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> bodyType) {
+        try {
+            return objectMapper.readValue(body, bodyType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored idempotent response", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Default sink: keeps the most recent events in memory and logs them. Stand-in until a real consumer exists.
+@Component
+@ConditionalOnProperty(name = "loan.outbox.sink", havingValue = "in-memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryLoanEventSink implements LoanEventSink {
+
+    private final Deque<OutboxEvent> recent = new ArrayDeque<>();
+
+    @Value("${loan.outbox.in-memory.capacity:1000}")
+    private int capacity;
+
+    @Override
+    public String name() {
+        return "in-memory";
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        for (OutboxEvent event : batch) {
+            log.debug("Loan event {} {}: {}", event.getId(), event.getEventType(), event.getPayload());
+            recent.addLast(event);
+            if (recent.size() > capacity) {
+                recent.removeFirst();
+            }
+        }
+    }
+
+    public synchronized List<OutboxEvent> recentEvents() {
+        return new ArrayList<>(recent);
+    }
+}
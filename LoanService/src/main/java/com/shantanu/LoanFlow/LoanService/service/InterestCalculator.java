@@ -0,0 +1,68 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+@Component
+public class InterestCalculator {
+
+    private static final BigDecimal MONTHS_TIMES_PERCENT = BigDecimal.valueOf(1200);
+    private static final MathContext RATE_PRECISION = MathContext.DECIMAL64;
+    private static final long FLAT_DIVISOR = 1200L * 100;
+
+    // Flat Interest = Principal * Rate * Tenure / 1200
+    // Keep in sync with the SQL in LoanRepository.recomputeBalances / findBalanceDiscrepancies
+    public Money flatInterest(Loan loan) {
+        Money interest = flatInterestInCents(loan);
+        return interest != null ? interest : flatInterestDecimal(loan);
+    }
+
+    public Money flatTotalRepayable(Loan loan) {
+        return loan.getPrincipalAmount().plus(flatInterest(loan));
+    }
+
+    // Same formula in long arithmetic: principal in cents times the rate in hundredths of a percent
+    // (both scale-2 fixed point) times months, over 1200 * 100, rounded HALF_UP to the cent.
+    // Null when the rate has more than two decimals or the product would overflow a long;
+    // the BigDecimal path then gives the identical result.
+    private Money flatInterestInCents(Loan loan) {
+        try {
+            long rateHundredths = Money.ofExact(loan.getInterestRate()).cents();
+            long numerator = Math.multiplyExact(
+                    Math.multiplyExact(loan.getPrincipalAmount().cents(), rateHundredths), loan.getTenureMonths());
+            return Money.ofCents(Money.divideHalfUp(numerator, FLAT_DIVISOR));
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private Money flatInterestDecimal(Loan loan) {
+        return Money.of(loan.getPrincipalAmount().toBigDecimal()
+                .multiply(loan.getInterestRate())
+                .multiply(BigDecimal.valueOf(loan.getTenureMonths()))
+                .divide(MONTHS_TIMES_PERCENT, 2, RoundingMode.HALF_UP));
+    }
+
+    public BigDecimal monthlyRate(Loan loan) {
+        return loan.getInterestRate().divide(MONTHS_TIMES_PERCENT, RATE_PRECISION);
+    }
+
+    // EMI = P * r * (1 + r)^n / ((1 + r)^n - 1), rounded to the cent
+    public Money emi(Loan loan) {
+        Money principal = loan.getPrincipalAmount();
+        int months = loan.getTenureMonths();
+        BigDecimal rate = monthlyRate(loan);
+        if (rate.signum() == 0) {
+            return principal.dividedBy(months);
+        }
+        BigDecimal factor = BigDecimal.ONE.add(rate).pow(months, RATE_PRECISION);
+        return Money.of(principal.toBigDecimal().multiply(rate)
+                .multiply(factor)
+                .divide(factor.subtract(BigDecimal.ONE), 2, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,58 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.repository.LoanArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+// Moves loans that have been CLOSED or REJECTED for longer than loan.archive.after, with their repayments,
+// into loans_archive / repayments_archive. Small batches in short transactions, bounded run time.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "loan.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class LoanArchiver {
+
+    private final LoanArchiveRepository loanArchiveRepository;
+    private final LoanReadCache loanReadCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${loan.archive.after:P180D}")
+    private Duration archiveAfter;
+
+    @Value("${loan.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${loan.archive.max-run-time:PT5M}")
+    private Duration maxRunTime;
+
+    @Scheduled(cron = "${loan.archive.cron:0 30 * * * *}")
+    public void archiveFinishedLoans() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+        long deadline = System.nanoTime() + maxRunTime.toNanos();
+        long archived = 0;
+        while (System.nanoTime() < deadline) {
+            Map<UUID, String> moved = transactionTemplate.execute(status -> {
+                Map<UUID, String> batch = loanArchiveRepository.archiveBatch(cutoff, batchSize, LocalDateTime.now());
+                loanReadCache.evictAll(batch);
+                return batch;
+            });
+            archived += moved.size();
+            if (moved.size() < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} loans finished before {}", archived, cutoff);
+        }
+    }
+}
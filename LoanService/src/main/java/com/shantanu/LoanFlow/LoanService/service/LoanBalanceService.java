@@ -0,0 +1,60 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.dto.BalanceDiscrepancy;
+import com.shantanu.LoanFlow.LoanService.repository.LoanRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoanBalanceService {
+
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${loan.balance.backfill-batch-size:1000}")
+    private int batchSize;
+
+    // One-off fill of totalRepayable/amountPaid for loans created before the running balance existed.
+    // Each batch commits on its own so a large book never holds one long transaction.
+    public int backfillBalances() {
+        int total = 0;
+        while (true) {
+            Integer updated = transactionTemplate.execute(status -> {
+                List<UUID> ids = loanRepository.findIdsMissingBalance(batchSize);
+                return ids.isEmpty() ? 0 : loanRepository.recomputeBalances(ids);
+            });
+            if (updated == null || updated == 0) {
+                break;
+            }
+            total += updated;
+        }
+        if (total > 0) {
+            log.info("Backfilled running balance for {} loans", total);
+        }
+        return total;
+    }
+
+    @Transactional(readOnly = true)
+    public List<BalanceDiscrepancy> findDiscrepancies() {
+        return loanRepository.findBalanceDiscrepancies();
+    }
+
+    @Transactional
+    public List<BalanceDiscrepancy> reconcile() {
+        List<BalanceDiscrepancy> discrepancies = loanRepository.findBalanceDiscrepancies();
+        if (!discrepancies.isEmpty()) {
+            loanRepository.recomputeBalances(discrepancies.stream().map(BalanceDiscrepancy::getLoanId).toList());
+            log.warn("Reconciled running balance for {} loans", discrepancies.size());
+        }
+        return discrepancies;
+    }
+}
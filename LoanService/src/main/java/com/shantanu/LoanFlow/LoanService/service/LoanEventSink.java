@@ -0,0 +1,14 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.entity.OutboxEvent;
+
+import java.util.List;
+
+// Destination for relayed outbox events. Returning normally acknowledges the whole batch;
+// throwing leaves it in the outbox to be redelivered (at-least-once).
+public interface LoanEventSink {
+
+    String name();
+
+    void publish(List<OutboxEvent> batch) throws Exception;
+}
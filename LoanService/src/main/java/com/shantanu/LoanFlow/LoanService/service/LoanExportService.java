@@ -0,0 +1,70 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.repository.LoanExportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// CSV export that writes each row as it comes off the cursor, so memory stays flat regardless of row count.
+// Archived loans are included unless the caller opts out, flagged in the archived column.
+@Service
+@RequiredArgsConstructor
+public class LoanExportService {
+
+    private static final String[] COLUMNS = {
+            "loan_id", "user_id", "loan_type", "status", "interest_mode", "principal_amount", "interest_rate",
+            "tenure_months", "total_repayable", "amount_paid", "installments", "paid_installments",
+            "overdue_installments", "repaid_total", "created_at", "updated_at", "archived"
+    };
+
+    private final LoanExportRepository loanExportRepository;
+
+    @Transactional(readOnly = true)
+    public long exportCsv(LocalDateTime createdFrom, LocalDateTime createdTo, Collection<Loan.LoanStatus> statuses,
+            boolean includeArchived, Writer writer) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+
+        long[] rows = {0};
+        loanExportRepository.streamLoans(createdFrom, createdTo, statuses, includeArchived, rs -> {
+            try {
+                writeRow(rs, writer);
+            } catch (IOException e) {
+                // Client went away; abandon the cursor
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        writer.flush();
+        return rows[0];
+    }
+
+    private void writeRow(ResultSet rs, Writer writer) throws SQLException, IOException {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = rs.getString(i + 1);
+            if (value != null) {
+                writer.write(escape(value));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
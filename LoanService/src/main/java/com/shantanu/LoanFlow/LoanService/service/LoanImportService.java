@@ -0,0 +1,292 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shantanu.LoanFlow.LoanService.dto.LoanImportError;
+import com.shantanu.LoanFlow.LoanService.dto.LoanImportResponse;
+import com.shantanu.LoanFlow.LoanService.dto.LoanRequest;
+import com.shantanu.LoanFlow.LoanService.dto.LoanStatusChangedEvent;
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.LoanStatusHistory;
+import com.shantanu.LoanFlow.LoanService.mapper.LoanMapper;
+import com.shantanu.LoanFlow.LoanService.repository.LoanImportRepository;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import com.shantanu.LoanFlow.LoanService.util.UuidV7;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Bulk import for partner portfolio migrations. The upload is read line by line and handled in
+// chunks: each chunk is validated, checked for open loans in one query and inserted in one JDBC batch.
+@Service
+@RequiredArgsConstructor
+public class LoanImportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final LoanImportRepository loanImportRepository;
+    private final LoanMapper loanMapper;
+    private final AmortizationEngine amortizationEngine;
+    private final LoanReadCache loanReadCache;
+    private final PortfolioStatsService portfolioStatsService;
+    private final LoanOutboxService loanOutboxService;
+    private final LoanStatusHistoryWriter loanStatusHistoryWriter;
+    private final LoanUserSummaryService loanUserSummaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${loan.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${loan.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public LoanImportResponse importLoans(InputStream input, Format format) throws IOException {
+        ImportReport report = new ImportReport(maxReportedErrors);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        Map<String, Integer> header = null;
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && header == null) {
+                header = parseHeader(line);
+                continue;
+            }
+
+            report.received++;
+            ParsedRow row = format == Format.CSV ? parseCsv(lineNumber, line, header, report) : parseJson(lineNumber, line, report);
+            if (row == null) {
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+
+        return LoanImportResponse.builder()
+                .received(report.received)
+                .imported(report.imported)
+                .failed(report.failed)
+                .errors(report.errors)
+                .errorsTruncated(report.failed > report.errors.size())
+                .build();
+    }
+
+    // One transaction per chunk: earlier chunks are committed, so the open-loan query also sees
+    // duplicates that appear further apart in the file than one chunk
+    private void importChunk(List<ParsedRow> chunk, ImportReport report) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> userIds = chunk.stream().map(ParsedRow::getUserId).collect(Collectors.toSet());
+            Set<String> openKeys = new HashSet<>(loanImportRepository.findOpenLoanKeys(userIds));
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Loan> loans = new ArrayList<>(chunk.size());
+            for (ParsedRow row : chunk) {
+                // Business Rule: One active loan per user per loan type, across the database and the file
+                if (!openKeys.add(row.getUserId() + "|" + row.getRequest().getLoanType())) {
+                    report.reject(row.getLine(), row.getUserId(), "User already has an active or pending loan of this type.");
+                    continue;
+                }
+                Loan loan = loanMapper.toEntity(row.getRequest(), row.getUserId());
+                loan.setId(UuidV7.generate());
+                loan.setTotalRepayable(amortizationEngine.totalRepayable(loan));
+                loan.setAmountPaid(Money.ZERO);
+                loan.setCreatedAt(now);
+                loan.setUpdatedAt(now);
+                loans.add(loan);
+            }
+            if (loans.isEmpty()) {
+                return;
+            }
+
+            loanImportRepository.insertAll(loans);
+            Map<UUID, String> owners = new HashMap<>();
+            List<LoanStatusChangedEvent> events = new ArrayList<>(loans.size());
+            List<LoanStatusHistory> history = new ArrayList<>(loans.size());
+            for (Loan loan : loans) {
+                owners.put(loan.getId(), loan.getUserId());
+                portfolioStatsService.recordTransition(loan.getLoanType(), null, Loan.LoanStatus.PENDING,
+                        loan.getPrincipalAmount(), null, loan.getOutstandingAmount());
+                events.add(LoanStatusChangedEvent.builder()
+                        .loanId(loan.getId())
+                        .userId(loan.getUserId())
+                        .loanType(loan.getLoanType())
+                        .toStatus(Loan.LoanStatus.PENDING)
+                        .principalAmount(loan.getPrincipalAmount())
+                        .outstandingAmount(loan.getOutstandingAmount())
+                        .occurredAt(now)
+                        .build());
+                history.add(LoanStatusHistoryWriter.entry(loan.getId(), null, Loan.LoanStatus.PENDING, now));
+            }
+            loanOutboxService.appendAll(events);
+            loanStatusHistoryWriter.recordAll(history);
+            loanUserSummaryService.refreshAll(owners.values());
+            loanReadCache.evictAll(owners);
+            report.imported += loans.size();
+        });
+    }
+
+    private Map<String, Integer> parseHeader(String line) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> columns = splitCsv(line);
+        for (int i = 0; i < columns.size(); i++) {
+            // Accept both user_id and userId spellings
+            header.put(columns.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("userid", "loantype", "principalamount", "interestrate", "tenuremonths")) {
+            if (!header.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+        return header;
+    }
+
+    private ParsedRow parseCsv(long lineNumber, String line, Map<String, Integer> header, ImportReport report) {
+        List<String> fields = splitCsv(line);
+        String userId = field(fields, header, "userid");
+        LoanRequest request = new LoanRequest();
+        try {
+            String loanType = field(fields, header, "loantype");
+            String principal = field(fields, header, "principalamount");
+            String rate = field(fields, header, "interestrate");
+            String tenure = field(fields, header, "tenuremonths");
+            String mode = field(fields, header, "interestmode");
+            request.setLoanType(loanType != null ? Loan.LoanType.valueOf(loanType.toUpperCase(Locale.ROOT)) : null);
+            request.setPrincipalAmount(principal != null ? Money.ofExact(new BigDecimal(principal)) : null);
+            request.setInterestRate(rate != null ? new BigDecimal(rate) : null);
+            request.setTenureMonths(tenure != null ? Integer.valueOf(tenure) : null);
+            request.setInterestMode(mode != null ? Loan.InterestMode.valueOf(mode.toUpperCase(Locale.ROOT)) : null);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            report.reject(lineNumber, userId, "Malformed row: " + e.getMessage());
+            return null;
+        }
+        return validate(lineNumber, userId, request, report);
+    }
+
+    private ParsedRow parseJson(long lineNumber, String line, ImportReport report) {
+        String userId = null;
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            userId = node.hasNonNull("userId") ? node.get("userId").asText() : null;
+            return validate(lineNumber, userId, objectMapper.treeToValue(node, LoanRequest.class), report);
+        } catch (JsonProcessingException e) {
+            report.reject(lineNumber, userId, "Malformed row: " + e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    // Same bean validation rules as POST /loans/apply
+    private ParsedRow validate(long lineNumber, String userId, LoanRequest request, ImportReport report) {
+        List<String> problems = new ArrayList<>();
+        if (userId == null || userId.isBlank()) {
+            problems.add("User id is required");
+        }
+        for (ConstraintViolation<LoanRequest> violation : validator.validate(request)) {
+            problems.add(violation.getMessage());
+        }
+        if (!problems.isEmpty()) {
+            report.reject(lineNumber, userId, String.join("; ", problems));
+            return null;
+        }
+        return new ParsedRow(lineNumber, userId.trim(), request);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Minimal RFC 4180 split for a single line: quoted fields may contain commas and doubled quotes
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    @lombok.Value
+    private static class ParsedRow {
+        long line;
+        String userId;
+        LoanRequest request;
+    }
+
+    private static class ImportReport {
+        private final int maxErrors;
+        private final List<LoanImportError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        private ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(long line, String userId, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new LoanImportError(line, userId, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.LoanStatusHistory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Business meters next to the actuator's http.server.requests, hikaricp.* and hibernate.* ones.
+// Counters are looked up once per status pair and kept, so recording stays off the registry's map.
+@Component
+public class LoanMetrics {
+
+    private static final String NEW = "NEW";
+
+    private final MeterRegistry registry;
+    private final Map<String, Counter> transitions = new ConcurrentHashMap<>();
+    private final DistributionSummary repaymentHistorySize;
+    private final Counter conflictRetries;
+    private final Counter historyDropped;
+
+    public LoanMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.repaymentHistorySize = DistributionSummary.builder("loan.repayment.history.size")
+                .description("Installment rows read to allocate one repayment")
+                .baseUnit("installments")
+                .register(registry);
+        this.conflictRetries = Counter.builder("loan.conflict.retries")
+                .description("Operations re-run after losing an optimistic-lock race")
+                .register(registry);
+        this.historyDropped = Counter.builder("loan.history.dropped")
+                .description("Status history entries dropped because the write queue was full")
+                .register(registry);
+    }
+
+    // Called once the transitions have committed, whichever path (single, bulk, import) made them
+    public void transitions(List<LoanStatusHistory> entries) {
+        for (LoanStatusHistory entry : entries) {
+            transitionCounter(entry.getFromStatus(), entry.getToStatus()).increment();
+        }
+    }
+
+    public void repaymentHistorySize(int installments) {
+        repaymentHistorySize.record(installments);
+    }
+
+    public void conflictRetry() {
+        conflictRetries.increment();
+    }
+
+    public void historyDropped(int entries) {
+        historyDropped.increment(entries);
+    }
+
+    private Counter transitionCounter(Loan.LoanStatus from, Loan.LoanStatus to) {
+        String fromTag = from != null ? from.name() : NEW;
+        return transitions.computeIfAbsent(fromTag + ">" + to.name(), key -> Counter.builder("loan.status.transitions")
+                .description("Committed loan status transitions")
+                .tag("from", fromTag)
+                .tag("to", to.name())
+                .register(registry));
+    }
+}
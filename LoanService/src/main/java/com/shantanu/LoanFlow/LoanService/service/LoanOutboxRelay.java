@@ -0,0 +1,111 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.dto.OutboxStatsResponse;
+import com.shantanu.LoanFlow.LoanService.entity.OutboxEvent;
+import com.shantanu.LoanFlow.LoanService.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains the outbox in batches. A batch is claimed with a lease in one short statement, handed to the
+// sink with no transaction or connection held, then deleted. If the sink fails the lease is released and
+// the same events are retried on the next poll; if this instance dies mid-publish, or the delete fails
+// after the sink accepted them, another poll picks them up once the lease runs out (at-least-once).
+// The lease must outlast a publish, so keep it above the HTTP sink's timeouts.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoanOutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final LoanEventSink sink;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile double lastRunEventsPerSecond;
+
+    @Value("${loan.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${loan.outbox.max-run-time:PT10S}")
+    private Duration maxRunTime;
+
+    @Value("${loan.outbox.lease:PT1M}")
+    private Duration lease;
+
+    @Scheduled(fixedDelayString = "${loan.outbox.poll-interval:PT1S}")
+    public void relay() {
+        long started = System.nanoTime();
+        long deadline = started + maxRunTime.toNanos();
+        long sent = 0;
+        while (System.nanoTime() < deadline) {
+            List<OutboxEvent> batch;
+            try {
+                batch = deliverBatch();
+            } catch (RuntimeException e) {
+                failedBatches.incrementAndGet();
+                log.warn("Outbox delivery to {} sink failed, will retry: {}", sink.name(), e.getMessage());
+                break;
+            }
+            recordDelivered(batch);
+            sent += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (sent > 0) {
+            double seconds = Math.max((System.nanoTime() - started) / 1e9, 1e-3);
+            lastRunEventsPerSecond = sent / seconds;
+            log.debug("Relayed {} loan events to {} sink ({} events/s)", sent, sink.name(), (long) lastRunEventsPerSecond);
+        }
+    }
+
+    public OutboxStatsResponse stats() {
+        return OutboxStatsResponse.builder()
+                .sink(sink.name())
+                .pending(outboxRepository.count())
+                .delivered(delivered.get())
+                .failedBatches(failedBatches.get())
+                .lastLagMillis(lastLagMillis.get())
+                .maxLagMillis(maxLagMillis.get())
+                .lastRunEventsPerSecond(lastRunEventsPerSecond)
+                .build();
+    }
+
+    private List<OutboxEvent> deliverBatch() {
+        List<OutboxEvent> batch = outboxRepository.claimBatch(batchSize, lease);
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+        try {
+            sink.publish(batch);
+        } catch (Exception e) {
+            outboxRepository.release(ids);
+            throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getMessage(), e);
+        }
+        outboxRepository.deleteAll(ids);
+        return batch;
+    }
+
+    // Only called once the batch has been deleted
+    private void recordDelivered(List<OutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long lag = Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis();
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        delivered.addAndGet(batch.size());
+    }
+}
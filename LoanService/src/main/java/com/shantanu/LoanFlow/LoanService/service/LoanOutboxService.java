@@ -0,0 +1,69 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shantanu.LoanFlow.LoanService.dto.LoanStatusChangedEvent;
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.OutboxEvent;
+import com.shantanu.LoanFlow.LoanService.repository.OutboxRepository;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Writes loan events to the outbox inside the caller's transaction, so an event exists if and only if
+// the state change committed. Delivery is LoanOutboxRelay's job.
+@Service
+@RequiredArgsConstructor
+public class LoanOutboxService {
+
+    public static final String STATUS_CHANGED = "LOAN_STATUS_CHANGED";
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Loan loan, Loan.LoanStatus from, Money outstanding) {
+        appendAll(List.of(LoanStatusChangedEvent.builder()
+                .loanId(loan.getId())
+                .userId(loan.getUserId())
+                .loanType(loan.getLoanType())
+                .fromStatus(from)
+                .toStatus(loan.getStatus())
+                .principalAmount(loan.getPrincipalAmount())
+                .outstandingAmount(outstanding)
+                .occurredAt(LocalDateTime.now())
+                .build()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<LoanStatusChangedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> rows = new ArrayList<>(events.size());
+        for (LoanStatusChangedEvent event : events) {
+            rows.add(OutboxEvent.builder()
+                    .aggregateId(event.getLoanId())
+                    .eventType(STATUS_CHANGED)
+                    .payload(toJson(event))
+                    .createdAt(now)
+                    .build());
+        }
+        outboxRepository.appendAll(rows);
+    }
+
+    private String toJson(LoanStatusChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise loan event", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.shantanu.LoanFlow.LoanService.config.ReplicaRoutingDataSource;
+import com.shantanu.LoanFlow.LoanService.dto.CacheStatsResponse;
+import com.shantanu.LoanFlow.LoanService.dto.LoanResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Bounded cache in front of the single-loan and per-user loan reads.
+// Writers evict after their transaction commits, so a concurrent read cannot re-cache the pre-commit row.
+// Callers look up outside any transaction: only a miss opens one, read-only, around its loader, so a hit
+// never borrows a connection. Loaders always read the primary, since a lagging replica could hand back
+// the row a writer has just evicted and keep it cached for the whole TTL.
+@Component
+public class LoanReadCache {
+
+    private final Cache<UUID, LoanResponse> loansById;
+    private final Cache<String, List<LoanResponse>> loansByUser;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public LoanReadCache(@Value("${loan.cache.max-size:10000}") long maxSize,
+            @Value("${loan.cache.ttl:PT5M}") Duration ttl,
+            PlatformTransactionManager transactionManager) {
+        this.loansById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.loansByUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public LoanResponse getLoan(UUID loanId, Function<UUID, LoanResponse> loader) {
+        return loansById.get(loanId, id -> load(() -> loader.apply(id)));
+    }
+
+    public List<LoanResponse> getUserLoans(String userId, Function<String, List<LoanResponse>> loader) {
+        return loansByUser.get(userId, id -> load(() -> loader.apply(id)));
+    }
+
+    public void evictUser(String userId) {
+        afterCommit(() -> loansByUser.invalidate(userId));
+    }
+
+    public void evict(UUID loanId, String userId) {
+        afterCommit(() -> {
+            loansById.invalidate(loanId);
+            loansByUser.invalidate(userId);
+        });
+    }
+
+    // loanId -> userId of every loan that changed
+    public void evictAll(Map<UUID, String> loans) {
+        afterCommit(() -> {
+            loansById.invalidateAll(loans.keySet());
+            loansByUser.invalidateAll(loans.values());
+        });
+    }
+
+    public List<CacheStatsResponse> stats() {
+        return List.of(toStats("loansById", loansById), toStats("loansByUser", loansByUser));
+    }
+
+    private CacheStatsResponse toStats(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    private <T> T load(Supplier<T> loader) {
+        return ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
@@ -5,26 +5,35 @@ import com.shantanu.LoanFlow.LoanService.entity.Loan;
 import com.shantanu.LoanFlow.LoanService.entity.Repayment;
 import com.shantanu.LoanFlow.LoanService.exception.*;
 import com.shantanu.LoanFlow.LoanService.mapper.LoanMapper;
+import com.shantanu.LoanFlow.LoanService.repository.ArchivedLoanRepository;
 import com.shantanu.LoanFlow.LoanService.repository.LoanRepository;
 import com.shantanu.LoanFlow.LoanService.repository.RepaymentRepository;
+import com.shantanu.LoanFlow.LoanService.util.Money;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class LoanService {
 
     private final LoanRepository loanRepository;
+    private final ArchivedLoanRepository archivedLoanRepository;
     private final RepaymentRepository repaymentRepository;
     private final LoanMapper loanMapper;
+    private final InterestCalculator interestCalculator;
+    private final AmortizationEngine amortizationEngine;
+    private final LoanReadCache loanReadCache;
+    private final PortfolioStatsService portfolioStatsService;
+    private final LoanOutboxService loanOutboxService;
+    private final LoanStateMachine loanStateMachine;
+    private final LoanStatusHistoryWriter loanStatusHistoryWriter;
+    private final LoanUserSummaryService loanUserSummaryService;
 
     @Transactional
     public LoanResponse applyLoan(LoanRequest request, String userId) {
@@ -39,31 +48,62 @@ public class LoanService {
         }
 
         Loan loan = loanMapper.toEntity(request, userId);
-        Loan savedLoan = loanRepository.save(loan);
+        loan.setTotalRepayable(amortizationEngine.totalRepayable(loan));
+        loan.setAmountPaid(Money.ZERO);
+        // Flushed so the summary refresh, which reads over JDBC, sees the row
+        Loan savedLoan = loanRepository.saveAndFlush(loan);
+        loanUserSummaryService.refresh(userId);
+        loanReadCache.evictUser(userId);
+        portfolioStatsService.recordTransition(loan.getLoanType(), null, Loan.LoanStatus.PENDING,
+                loan.getPrincipalAmount(), null, loan.getOutstandingAmount());
+        loanOutboxService.statusChanged(savedLoan, null, savedLoan.getOutstandingAmount());
+        loanStatusHistoryWriter.record(savedLoan.getId(), null, savedLoan.getStatus());
         return loanMapper.toResponse(savedLoan);
     }
 
+    // LoanReadCache opens the read-only transaction, and only on a miss
     public List<LoanResponse> getLoansByUserId(String userId) {
-        return loanRepository.findByUserId(userId).stream()
-                .map(loanMapper::toResponse)
-                .collect(Collectors.toList());
+        return loanReadCache.getUserLoans(userId, loanRepository::findResponsesByUserId);
     }
 
+    @Transactional(readOnly = true)
+    public LoanUserSummaryResponse getSummary(String userId) {
+        return loanUserSummaryService.getSummary(userId);
+    }
+
+    @Transactional(readOnly = true)
     public List<LoanResponse> getAllLoans() {
-        return loanRepository.findAll().stream()
-                .map(loanMapper::toResponse)
-                .collect(Collectors.toList());
+        return loanRepository.findAllResponses();
+    }
+
+    @Transactional(readOnly = true)
+    public LoanPage getLoansPage(Loan.LoanStatus status, Loan.LoanType loanType, String cursor, int size) {
+        LoanCursor after = cursor == null || cursor.isBlank() ? null : LoanCursor.decode(cursor);
+
+        // Fetch one extra row to find out whether there is a next page
+        List<LoanResponse> loans = loanRepository.findKeysetPage(status, loanType, after, size + 1);
+        boolean hasMore = loans.size() > size;
+        if (hasMore) {
+            loans = loans.subList(0, size);
+        }
+
+        return LoanPage.builder()
+                .content(loans)
+                .nextCursor(hasMore ? LoanCursor.of(loans.get(loans.size() - 1)).encode() : null)
+                .build();
     }
 
     public LoanResponse getLoanById(UUID loanId, String userId, boolean isAdmin) {
-        Loan loan = loanRepository.findById(loanId)
-                .orElseThrow(() -> new LoanNotFoundException("Loan not found with ID: " + loanId));
+        // Finished loans may have been moved to the archive by LoanArchiver
+        LoanResponse loan = loanReadCache.getLoan(loanId, id -> loanRepository.findResponseById(id)
+                .or(() -> archivedLoanRepository.findResponseById(id))
+                .orElseThrow(() -> new LoanNotFoundException("Loan not found with ID: " + id)));
 
         if (!isAdmin && !loan.getUserId().equals(userId)) {
             throw new UnauthorizedLoanAccessException("You are not authorized to view this loan.");
         }
 
-        return loanMapper.toResponse(loan);
+        return loan;
     }
 
     @Transactional
@@ -71,12 +111,13 @@ public class LoanService {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new LoanNotFoundException("Loan not found"));
 
-        if (loan.getStatus() != Loan.LoanStatus.PENDING) {
-            throw new InvalidLoanStateException("Loan is not in PENDING state.");
-        }
-
-        loan.setStatus(Loan.LoanStatus.APPROVED);
-        return loanMapper.toResponse(loanRepository.save(loan));
+        loanStateMachine.fire(loan, LoanStateMachine.Event.APPROVE);
+        amortizationEngine.generateSchedule(loan, LocalDate.now());
+        Loan savedLoan = loanRepository.saveAndFlush(loan);
+        loanUserSummaryService.refresh(loan.getUserId());
+        loanReadCache.evict(loanId, loan.getUserId());
+        recordStatusChange(loan, Loan.LoanStatus.PENDING);
+        return loanMapper.toResponse(savedLoan);
     }
 
     @Transactional
@@ -84,16 +125,16 @@ public class LoanService {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new LoanNotFoundException("Loan not found"));
 
-        if (loan.getStatus() != Loan.LoanStatus.PENDING) {
-            throw new InvalidLoanStateException("Loan is not in PENDING state.");
-        }
-
-        loan.setStatus(Loan.LoanStatus.REJECTED);
-        return loanMapper.toResponse(loanRepository.save(loan));
+        loanStateMachine.fire(loan, LoanStateMachine.Event.REJECT);
+        Loan savedLoan = loanRepository.saveAndFlush(loan);
+        loanUserSummaryService.refresh(loan.getUserId());
+        loanReadCache.evict(loanId, loan.getUserId());
+        recordStatusChange(loan, Loan.LoanStatus.PENDING);
+        return loanMapper.toResponse(savedLoan);
     }
 
     @Transactional
-    public void repayLoan(UUID loanId, BigDecimal amount, String userId) {
+    public void repayLoan(UUID loanId, Money amount, String userId) {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new LoanNotFoundException("Loan not found"));
 
@@ -101,10 +142,6 @@ public class LoanService {
             throw new UnauthorizedLoanAccessException("You are not authorized to repay this loan.");
         }
 
-        if (loan.getStatus() != Loan.LoanStatus.APPROVED && loan.getStatus() != Loan.LoanStatus.ACTIVE) {
-            throw new InvalidLoanStateException("Loan must be APPROVED or ACTIVE to make repayments.");
-        }
-
         // Activate loan on first payment if it was just APPROVED (Simplified logic:
         // actually loan becomes active on disbursement usually, but let's say repayment
         // triggers ACTIVE or keeps it ACTIVE)
@@ -112,49 +149,59 @@ public class LoanService {
         // Admin disburses it.
         // Let's assume APPROVED means disbursed for simplicity. Any payment moves it to
         // ACTIVE if not already.
-        if (loan.getStatus() == Loan.LoanStatus.APPROVED) {
-            loan.setStatus(Loan.LoanStatus.ACTIVE);
-        }
-
-        // Calculate total paid so far
-        List<Repayment> repayments = repaymentRepository.findByLoanId(loanId);
-        BigDecimal totalPaid = repayments.stream()
-                .map(Repayment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Simple interest calculation or just Principal + Interest?
-        // Let's assume Principal is the total amount to be paid back for simplicity in
-        // this MVP,
-        // OR calculate Total Repayable = Principal + (Principal * Rate * Tenure / 1200)
+        Loan.LoanStatus previousStatus = loan.getStatus();
+        loanStateMachine.fire(loan, LoanStateMachine.Event.REPAY);
 
-        BigDecimal totalRepayable = loan.getPrincipalAmount()
-                .add(loan.getPrincipalAmount()
-                        .multiply(loan.getInterestRate())
-                        .multiply(BigDecimal.valueOf(loan.getTenureMonths()))
-                        .divide(BigDecimal.valueOf(1200), 2, java.math.RoundingMode.HALF_UP));
+        if (loan.getTotalRepayable() == null || loan.getAmountPaid() == null) {
+            // Row predates the running balance and the startup backfill has not reached it yet
+            loan.setTotalRepayable(interestCalculator.flatTotalRepayable(loan));
+            loan.setAmountPaid(Money.of(repaymentRepository.sumPaidAmountByLoanId(loanId)));
+        }
 
-        BigDecimal pendingAmount = totalRepayable.subtract(totalPaid);
+        // Balance math in cents; request amounts are rejected at JSON read if they have sub-cent digits
+        Money paid = loan.getAmountPaid();
+        Money pending = loan.getTotalRepayable().minus(paid);
 
-        if (amount.compareTo(pendingAmount) > 0) {
-            throw new InvalidLoanStateException("Repayment amount exceeds pending amount: " + pendingAmount);
+        if (amount.compareTo(pending) > 0) {
+            throw new InvalidLoanStateException("Repayment amount exceeds pending amount: " + pending);
         }
 
-        Repayment repayment = Repayment.builder()
-                .loanId(loanId)
-                .amount(amount)
-                .dueDate(LocalDate.now()) // MVP: assume paying today
-                .paidDate(LocalDate.now())
-                .status(Repayment.RepaymentStatus.PAID)
-                .build();
+        if (!amortizationEngine.applyPayment(loanId, amount, LocalDate.now())) {
+            // Loan was approved before schedules existed: record the payment on its own
+            Repayment repayment = Repayment.builder()
+                    .loanId(loanId)
+                    .amount(amount)
+                    .paidAmount(amount)
+                    .dueDate(LocalDate.now()) // MVP: assume paying today
+                    .paidDate(LocalDate.now())
+                    .status(Repayment.RepaymentStatus.PAID)
+                    .build();
+
+            repaymentRepository.save(repayment);
+        }
 
-        repaymentRepository.save(repayment);
+        loan.setAmountPaid(paid.plus(amount));
 
         // Check if fully paid
-        if (amount.compareTo(pendingAmount) == 0) {
-            loan.setStatus(Loan.LoanStatus.CLOSED);
-            loanRepository.save(loan);
-        } else {
-            loanRepository.save(loan); // Update status to ACTIVE if it was APPROVED
+        if (amount.equals(pending)) {
+            loanStateMachine.fire(loan, LoanStateMachine.Event.SETTLE);
         }
+        loanRepository.saveAndFlush(loan);
+        loanUserSummaryService.refresh(userId);
+        loanReadCache.evict(loanId, userId);
+        portfolioStatsService.recordTransition(loan.getLoanType(), previousStatus, loan.getStatus(),
+                loan.getPrincipalAmount(), pending, loan.getOutstandingAmount());
+        if (loan.getStatus() != previousStatus) {
+            loanOutboxService.statusChanged(loan, previousStatus, loan.getOutstandingAmount());
+        }
+    }
+
+    // Status-only change: the balance moves between buckets unchanged
+    private void recordStatusChange(Loan loan, Loan.LoanStatus previousStatus) {
+        Money outstanding = loan.getTotalRepayable() != null && loan.getAmountPaid() != null
+                ? loan.getOutstandingAmount() : null;
+        portfolioStatsService.recordTransition(loan.getLoanType(), previousStatus, loan.getStatus(),
+                loan.getPrincipalAmount(), outstanding, outstanding);
+        loanOutboxService.statusChanged(loan, previousStatus, outstanding);
     }
 }
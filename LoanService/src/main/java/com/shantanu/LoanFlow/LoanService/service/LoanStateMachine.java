@@ -0,0 +1,75 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.Loan.LoanStatus;
+import com.shantanu.LoanFlow.LoanService.exception.InvalidLoanStateException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Every loan status change goes through this table: event -> (current status -> next status).
+// A missing entry means the event is not allowed from that status.
+@Component
+@RequiredArgsConstructor
+public class LoanStateMachine {
+
+    public enum Event {
+        APPROVE, REJECT, REPAY, SETTLE
+    }
+
+    private static final Map<Event, EnumMap<LoanStatus, LoanStatus>> TRANSITIONS = new EnumMap<>(Event.class);
+    private static final Map<Event, String> REJECTIONS = new EnumMap<>(Event.class);
+
+    static {
+        allow(Event.APPROVE, LoanStatus.PENDING, LoanStatus.APPROVED);
+        allow(Event.REJECT, LoanStatus.PENDING, LoanStatus.REJECTED);
+        // First payment activates an approved loan; later ones leave it ACTIVE
+        allow(Event.REPAY, LoanStatus.APPROVED, LoanStatus.ACTIVE);
+        allow(Event.REPAY, LoanStatus.ACTIVE, LoanStatus.ACTIVE);
+        allow(Event.SETTLE, LoanStatus.ACTIVE, LoanStatus.CLOSED);
+
+        REJECTIONS.put(Event.APPROVE, "Loan is not in PENDING state.");
+        REJECTIONS.put(Event.REJECT, "Loan is not in PENDING state.");
+        REJECTIONS.put(Event.REPAY, "Loan must be APPROVED or ACTIVE to make repayments.");
+        REJECTIONS.put(Event.SETTLE, "Loan must be ACTIVE to be closed.");
+    }
+
+    private final LoanStatusHistoryWriter historyWriter;
+
+    private static void allow(Event event, LoanStatus from, LoanStatus to) {
+        TRANSITIONS.computeIfAbsent(event, e -> new EnumMap<>(LoanStatus.class)).put(from, to);
+    }
+
+    public static LoanStatus next(LoanStatus current, Event event) {
+        LoanStatus next = TRANSITIONS.get(event).get(current);
+        if (next == null) {
+            throw new InvalidLoanStateException(REJECTIONS.get(event));
+        }
+        return next;
+    }
+
+    // The only status a set-based transition may start from (bulk SQL filters on it)
+    public static LoanStatus sourceOf(Event event) {
+        Map<LoanStatus, LoanStatus> edges = TRANSITIONS.get(event);
+        if (edges.size() != 1) {
+            throw new IllegalStateException(event + " has more than one source status");
+        }
+        return edges.keySet().iterator().next();
+    }
+
+    public static String rejectionMessage(Event event) {
+        return REJECTIONS.get(event);
+    }
+
+    // Applies the event to the loan and queues a history entry if the status actually changed
+    public void fire(Loan loan, Event event) {
+        LoanStatus from = loan.getStatus();
+        LoanStatus to = next(from, event);
+        if (to != from) {
+            loan.setStatus(to);
+            historyWriter.record(loan.getId(), from, to);
+        }
+    }
+}
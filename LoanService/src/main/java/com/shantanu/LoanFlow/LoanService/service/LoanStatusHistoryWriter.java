@@ -0,0 +1,131 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.LoanStatusHistory;
+import com.shantanu.LoanFlow.LoanService.repository.LoanStatusHistoryRepository;
+import com.shantanu.LoanFlow.LoanService.util.UuidV7;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps the audit insert off the request path: entries are queued once the transition commits
+// and a background flush writes them in JDBC batches. The queue is bounded and enqueueing never waits:
+// if the database falls behind and the queue fills, new entries are dropped and counted
+// (loan.history.dropped) rather than stalling the committing thread. Dropped entries, and those still
+// queued when the JVM dies, are lost; the outbox remains the durable record of each change.
+@Component
+@Slf4j
+public class LoanStatusHistoryWriter {
+
+    private final LoanStatusHistoryRepository historyRepository;
+    private final LoanMetrics loanMetrics;
+    private final BlockingQueue<LoanStatusHistory> queue;
+    private final int batchSize;
+    // Reported by the next flush, so a full queue logs once per interval instead of once per request
+    private final AtomicLong droppedSinceFlush = new AtomicLong();
+
+    // Batch that failed to insert; retried before anything new is drained
+    private List<LoanStatusHistory> retry = List.of();
+
+    public LoanStatusHistoryWriter(LoanStatusHistoryRepository historyRepository, LoanMetrics loanMetrics,
+            @Value("${loan.history.queue-capacity:50000}") int capacity,
+            @Value("${loan.history.batch-size:500}") int batchSize) {
+        this.historyRepository = historyRepository;
+        this.loanMetrics = loanMetrics;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+    }
+
+    public void record(UUID loanId, Loan.LoanStatus from, Loan.LoanStatus to) {
+        recordAll(List.of(entry(loanId, from, to, LocalDateTime.now())));
+    }
+
+    public void recordAll(List<LoanStatusHistory> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entries);
+                }
+            });
+        } else {
+            enqueue(entries);
+        }
+    }
+
+    public static LoanStatusHistory entry(UUID loanId, Loan.LoanStatus from, Loan.LoanStatus to, LocalDateTime at) {
+        return LoanStatusHistory.builder()
+                .id(UuidV7.generate())
+                .loanId(loanId)
+                .fromStatus(from)
+                .toStatus(to)
+                .changedAt(at)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${loan.history.flush-interval:PT0.5S}")
+    public synchronized void flush() {
+        long dropped = droppedSinceFlush.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("Status history queue was full; {} entries dropped since the last flush", dropped);
+        }
+        if (!retry.isEmpty()) {
+            if (!insert(retry)) {
+                return;
+            }
+            retry = List.of();
+        }
+        List<LoanStatusHistory> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (!insert(batch)) {
+                retry = batch;
+                return;
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void enqueue(List<LoanStatusHistory> entries) {
+        loanMetrics.transitions(entries);
+        int dropped = 0;
+        for (LoanStatusHistory entry : entries) {
+            if (!queue.offer(entry)) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            droppedSinceFlush.addAndGet(dropped);
+            loanMetrics.historyDropped(dropped);
+        }
+    }
+
+    private boolean insert(List<LoanStatusHistory> batch) {
+        try {
+            historyRepository.insertAll(batch);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Status history insert of {} entries failed, will retry: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+}
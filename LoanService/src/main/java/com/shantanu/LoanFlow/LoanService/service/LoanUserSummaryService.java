@@ -0,0 +1,149 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.dto.LoanSummaryRebuildResponse;
+import com.shantanu.LoanFlow.LoanService.dto.LoanUserSummaryResponse;
+import com.shantanu.LoanFlow.LoanService.repository.LoanUserSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Per-borrower summary behind GET /loans/my/summary. Each loan write recomputes its owner's row from
+// loans and repayments inside the write's own transaction, so the summary commits or rolls back with it.
+// rebuild() regenerates every row in bounded user_id chunks, one short transaction each, so it never scans
+// all of loans at once or holds summary row locks for longer than one chunk. A few workers pull successive
+// chunks, and a Postgres advisory lock keeps it to one pod at a time.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoanUserSummaryService {
+
+    private final LoanUserSummaryRepository loanUserSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${loan.summary.rebuild-chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${loan.summary.rebuild-parallelism:4}")
+    private int parallelism;
+
+    @Value("${loan.summary.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(String userId) {
+        loanUserSummaryRepository.refresh(List.of(userId), LocalDateTime.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refreshAll(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        // Sorted and de-duplicated, so concurrent bulk writers lock rows in the same order
+        loanUserSummaryRepository.refresh(new TreeSet<>(userIds), LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public LoanUserSummaryResponse getSummary(String userId) {
+        return loanUserSummaryRepository.findByUserId(userId)
+                .orElseGet(() -> LoanUserSummaryResponse.builder()
+                        .userId(userId)
+                        .totalPrincipal(BigDecimal.ZERO)
+                        .totalOutstanding(BigDecimal.ZERO)
+                        .build());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialise() {
+        if (rebuildOnStartup && loanUserSummaryRepository.isEmpty()) {
+            rebuild();
+        }
+    }
+
+    // One pod at a time; a second caller, or a second pod starting up, gets a skipped response
+    public LoanSummaryRebuildResponse rebuild() {
+        return loanUserSummaryRepository.whileLockedForRebuild(this::rebuildLocked)
+                .orElseGet(() -> {
+                    log.info("Skipped loan user summary rebuild; another instance is running it");
+                    return LoanSummaryRebuildResponse.builder().skipped(true).build();
+                });
+    }
+
+    private LoanSummaryRebuildResponse rebuildLocked() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        UserCursor cursor = new UserCursor();
+        List<Callable<Long>> workers = new ArrayList<>(parallelism);
+        for (int worker = 0; worker < parallelism; worker++) {
+            workers.add(() -> {
+                long refreshed = 0;
+                for (List<String> chunk = cursor.next(); !chunk.isEmpty(); chunk = cursor.next()) {
+                    List<String> userIds = chunk;
+                    transactionTemplate.executeWithoutResult(status -> loanUserSummaryRepository.refresh(userIds, now));
+                    refreshed += userIds.size();
+                }
+                return refreshed;
+            });
+        }
+
+        long users = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            for (Future<Long> result : executor.invokeAll(workers)) {
+                users += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding loan summaries", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Loan summary rebuild failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Rebuilt {} loan user summaries in {} ms in {} chunks across {} workers",
+                users, elapsedMillis, cursor.chunks, parallelism);
+        return LoanSummaryRebuildResponse.builder()
+                .workers(parallelism)
+                .chunks(cursor.chunks)
+                .users(users)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    // Hands out successive user_id ranges; reading the next range is serialised, recomputing it is not
+    private final class UserCursor {
+        private String after = "";
+        private boolean exhausted;
+        private int chunks;
+
+        synchronized List<String> next() {
+            if (exhausted) {
+                return List.of();
+            }
+            List<String> userIds = loanUserSummaryRepository.nextUsers(after, chunkSize);
+            exhausted = userIds.size() < chunkSize;
+            if (!userIds.isEmpty()) {
+                after = userIds.get(userIds.size() - 1);
+                chunks++;
+            }
+            return userIds;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.entity.JobCheckpoint;
+import com.shantanu.LoanFlow.LoanService.repository.JobCheckpointRepository;
+import com.shantanu.LoanFlow.LoanService.repository.RepaymentBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+// Marks past-due installments OVERDUE in keyset chunks. Each chunk and its checkpoint commit together,
+// so a restart (or the next trigger after hitting the time budget) resumes after the last chunk. Every
+// chunk takes a Postgres advisory lock, so only one pod sweeps at a time.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "loan.overdue.enabled", havingValue = "true", matchIfMissing = true)
+public class OverdueRepaymentJob {
+
+    static final String JOB_NAME = "overdue-repayments";
+
+    private final RepaymentBatchRepository repaymentBatchRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${loan.overdue.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${loan.overdue.max-run-time:PT5M}")
+    private Duration maxRunTime;
+
+    @Scheduled(cron = "${loan.overdue.cron:0 */15 * * * *}")
+    public void markOverdueInstallments() {
+        LocalDate today = LocalDate.now();
+        if (jobCheckpointRepository.findById(JOB_NAME)
+                .filter(existing -> today.equals(existing.getRunDate()))
+                .map(JobCheckpoint::isCompleted)
+                .orElse(false)) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + maxRunTime.toNanos();
+        long marked = 0;
+        JobCheckpoint checkpoint = null;
+        while ((checkpoint == null || !checkpoint.isCompleted()) && System.nanoTime() < deadline) {
+            ChunkResult chunk = transactionTemplate.execute(status -> processChunk(today));
+            if (chunk == null) {
+                log.debug("Skipped overdue sweep for {}; another instance is running it", today);
+                return;
+            }
+            checkpoint = chunk.checkpoint();
+            marked += chunk.marked();
+        }
+
+        if (checkpoint != null) {
+            log.info("Overdue sweep for {}: {} installments marked this run, {} total, completed={}",
+                    today, marked, checkpoint.getProcessed(), checkpoint.isCompleted());
+        }
+    }
+
+    // Null if another pod holds the sweep lock. The checkpoint is read after taking the lock, so each
+    // chunk continues from whatever any pod last committed.
+    private ChunkResult processChunk(LocalDate today) {
+        if (!repaymentBatchRepository.tryLockForOverdueSweep()) {
+            return null;
+        }
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(JOB_NAME)
+                .filter(existing -> today.equals(existing.getRunDate()))
+                .orElseGet(() -> JobCheckpoint.builder().jobName(JOB_NAME).runDate(today).build());
+        if (checkpoint.isCompleted()) {
+            return new ChunkResult(checkpoint, 0);
+        }
+
+        int marked;
+        RepaymentBatchRepository.OverdueChunk chunk = repaymentBatchRepository.markOverdue(
+                today, checkpoint.getLastDueDate(), checkpoint.getLastId(), chunkSize);
+        if (chunk != null) {
+            checkpoint.setLastDueDate(chunk.getLastDueDate());
+            checkpoint.setLastId(chunk.getLastId());
+            marked = chunk.getUpdated();
+        } else {
+            // The walk skipped rows locked by in-flight payments; the day is done only once none are left
+            marked = repaymentBatchRepository.markRemainingOverdue(today, chunkSize);
+            checkpoint.setCompleted(marked == 0);
+        }
+        checkpoint.setProcessed(checkpoint.getProcessed() + marked);
+        return new ChunkResult(jobCheckpointRepository.save(checkpoint), marked);
+    }
+
+    private record ChunkResult(JobCheckpoint checkpoint, int marked) {
+    }
+}
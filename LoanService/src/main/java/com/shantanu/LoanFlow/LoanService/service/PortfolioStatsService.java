@@ -0,0 +1,211 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.dto.PortfolioStatsResponse;
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.PortfolioStat;
+import com.shantanu.LoanFlow.LoanService.repository.PortfolioStatsRepository;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Portfolio totals per (loanType, status). Every transition adds a delta in memory once its transaction
+// commits; deltas are flushed to loan_portfolio_stats as atomic increments every few seconds, so no request
+// ever waits on the shared aggregate rows. A periodic full recompute from loans corrects any drift; one pod
+// runs it, and it stamps the rows with its start time. A recompute already counts every transition committed
+// before it started, so each pod's flush discards pending deltas recorded before that watermark instead of
+// adding them a second time. Deltas are stamped after commit by the pod's clock, so a transition committing
+// within clock skew of the watermark can still be counted twice; the next recompute corrects it.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioStatsService {
+
+    private static final Set<Loan.LoanStatus> APPROVED_STATUSES =
+            EnumSet.of(Loan.LoanStatus.APPROVED, Loan.LoanStatus.ACTIVE, Loan.LoanStatus.CLOSED);
+
+    // Only disbursed, unsettled loans are owed; must match the FILTER in PortfolioStatsRepository.recomputeAll
+    private static final Set<Loan.LoanStatus> OUTSTANDING_STATUSES = EnumSet.of(Loan.LoanStatus.APPROVED, Loan.LoanStatus.ACTIVE);
+
+    private final PortfolioStatsRepository portfolioStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Queue<PendingDelta> pending = new ConcurrentLinkedQueue<>();
+
+    // from is null for a new loan; outstandingBefore/After are the loan's balance either side of the change.
+    // A bucket only carries the balance while its status is in OUTSTANDING_STATUSES, so callers can always
+    // pass the loan's balance: a PENDING or REJECTED loan adds nothing to outstanding.
+    public void recordTransition(Loan.LoanType loanType, Loan.LoanStatus from, Loan.LoanStatus to,
+            Money principal, Money outstandingBefore, Money outstandingAfter) {
+        List<PortfolioStat> deltas = new ArrayList<>(2);
+        if (from != null) {
+            deltas.add(delta(loanType, from, -1, principal.negate().toBigDecimal(), outstanding(from, outstandingBefore).negate()));
+        }
+        deltas.add(delta(loanType, to, 1, principal.toBigDecimal(), outstanding(to, outstandingAfter)));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(deltas);
+                }
+            });
+        } else {
+            enqueue(deltas);
+        }
+    }
+
+    public PortfolioStatsResponse getStats() {
+        List<PortfolioStat> buckets = portfolioStatsRepository.findAll();
+
+        long totalLoans = 0;
+        BigDecimal totalPrincipal = BigDecimal.ZERO;
+        BigDecimal totalOutstanding = BigDecimal.ZERO;
+        Map<Loan.LoanType, BigDecimal> principalByType = new EnumMap<>(Loan.LoanType.class);
+        Map<Loan.LoanStatus, BigDecimal> principalByStatus = new EnumMap<>(Loan.LoanStatus.class);
+        Map<Loan.LoanStatus, Long> countByStatus = new EnumMap<>(Loan.LoanStatus.class);
+        for (PortfolioStat bucket : buckets) {
+            totalLoans += bucket.getLoanCount();
+            totalPrincipal = totalPrincipal.add(bucket.getPrincipalTotal());
+            // Buckets written before outstanding was limited to these statuses hold a balance until the next recompute
+            if (OUTSTANDING_STATUSES.contains(bucket.getStatus())) {
+                totalOutstanding = totalOutstanding.add(bucket.getOutstandingTotal());
+            }
+            principalByType.merge(bucket.getLoanType(), bucket.getPrincipalTotal(), BigDecimal::add);
+            principalByStatus.merge(bucket.getStatus(), bucket.getPrincipalTotal(), BigDecimal::add);
+            countByStatus.merge(bucket.getStatus(), bucket.getLoanCount(), Long::sum);
+        }
+
+        long approved = APPROVED_STATUSES.stream().mapToLong(status -> countByStatus.getOrDefault(status, 0L)).sum();
+        long decided = approved + countByStatus.getOrDefault(Loan.LoanStatus.REJECTED, 0L);
+
+        return PortfolioStatsResponse.builder()
+                .totalLoans(totalLoans)
+                .totalPrincipal(totalPrincipal)
+                .totalOutstanding(totalOutstanding)
+                .principalByType(principalByType)
+                .principalByStatus(principalByStatus)
+                .countByStatus(countByStatus)
+                .approvalRate(decided == 0 ? null : (double) approved / decided)
+                .buckets(buckets)
+                .lastRecomputedAt(buckets.stream()
+                        .map(PortfolioStat::getRecomputedAt)
+                        .filter(Objects::nonNull)
+                        .max(Comparator.naturalOrder())
+                        .orElse(null))
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${loan.stats.flush-interval:PT5S}")
+    public void flush() {
+        List<PendingDelta> drained = new ArrayList<>();
+        for (PendingDelta delta; (delta = pending.poll()) != null; ) {
+            drained.add(delta);
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Read under the shared lock, so a recompute that commits meanwhile is seen before applying
+                portfolioStatsRepository.lockForFlush();
+                LocalDateTime watermark = portfolioStatsRepository.recomputedAt();
+                Map<PortfolioStat.Key, PortfolioStat> batch = new HashMap<>();
+                for (PendingDelta delta : drained) {
+                    if (watermark == null || !delta.getRecordedAt().isBefore(watermark)) {
+                        batch.merge(new PortfolioStat.Key(delta.getDelta().getLoanType(), delta.getDelta().getStatus()),
+                                delta.getDelta(), PortfolioStatsService::add);
+                    }
+                }
+                if (batch.size() < drained.size()) {
+                    log.debug("Discarded {} portfolio deltas already counted by the recompute at {}",
+                            drained.size() - batch.size(), watermark);
+                }
+                if (!batch.isEmpty()) {
+                    portfolioStatsRepository.applyDeltas(batch, LocalDateTime.now());
+                }
+            });
+        } catch (RuntimeException e) {
+            // Put the deltas back, with their original stamps, so the next flush retries them
+            pending.addAll(drained);
+            throw e;
+        }
+    }
+
+    @Scheduled(cron = "${loan.stats.recompute-cron:0 0 * * * *}")
+    public void recompute() {
+        LocalDateTime recomputedAt = transactionTemplate.execute(status -> {
+            if (!portfolioStatsRepository.tryLockForRecompute()) {
+                return null;
+            }
+            // Taken once in-flight flushes have drained, so every delta they applied is before it
+            LocalDateTime now = LocalDateTime.now();
+            portfolioStatsRepository.recomputeAll(now);
+            return now;
+        });
+        if (recomputedAt == null) {
+            log.debug("Skipped portfolio stats recompute; another instance is running it");
+        } else {
+            log.info("Recomputed loan portfolio stats as of {}", recomputedAt);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialise() {
+        if (portfolioStatsRepository.isEmpty()) {
+            recompute();
+        }
+    }
+
+    private void enqueue(List<PortfolioStat> deltas) {
+        LocalDateTime recordedAt = LocalDateTime.now();
+        deltas.forEach(delta -> pending.add(new PendingDelta(recordedAt, delta)));
+    }
+
+    private static PortfolioStat add(PortfolioStat a, PortfolioStat b) {
+        return delta(a.getLoanType(), a.getStatus(), a.getLoanCount() + b.getLoanCount(),
+                a.getPrincipalTotal().add(b.getPrincipalTotal()),
+                a.getOutstandingTotal().add(b.getOutstandingTotal()));
+    }
+
+    private static PortfolioStat delta(Loan.LoanType loanType, Loan.LoanStatus status, long count,
+            BigDecimal principal, BigDecimal outstanding) {
+        return PortfolioStat.builder()
+                .loanType(loanType)
+                .status(status)
+                .loanCount(count)
+                .principalTotal(principal)
+                .outstandingTotal(outstanding)
+                .build();
+    }
+
+    private static BigDecimal outstanding(Loan.LoanStatus status, Money balance) {
+        return balance != null && OUTSTANDING_STATUSES.contains(status) ? balance.toBigDecimal() : BigDecimal.ZERO;
+    }
+
+    @lombok.Value
+    private static class PendingDelta {
+        LocalDateTime recordedAt;
+        PortfolioStat delta;
+    }
+}
@@ -0,0 +1,178 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shantanu.LoanFlow.LoanService.dto.InstallmentQuote;
+import com.shantanu.LoanFlow.LoanService.dto.PrepaymentQuoteResponse;
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.Repayment;
+import com.shantanu.LoanFlow.LoanService.exception.LoanNotFoundException;
+import com.shantanu.LoanFlow.LoanService.exception.UnauthorizedLoanAccessException;
+import com.shantanu.LoanFlow.LoanService.repository.LoanRepository;
+import com.shantanu.LoanFlow.LoanService.repository.RepaymentRepository;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Read-only payoff and prepayment quotes. A foreclosure pays the installments already due plus the
+// principal left on future ones; interest on future installments is what the borrower saves.
+// A partial prepayment settles due installments first, then re-amortises the remaining principal
+// over the same number of future installments.
+@Service
+public class PrepaymentQuoteService {
+
+    private final LoanRepository loanRepository;
+    private final RepaymentRepository repaymentRepository;
+    private final AmortizationEngine amortizationEngine;
+
+    // Open part of each installment, keyed by loan version: any repayment or transition bumps the
+    // version, so a stale snapshot is never served and old entries simply age out
+    private final Cache<ScheduleKey, List<OpenInstallment>> schedules;
+
+    public PrepaymentQuoteService(LoanRepository loanRepository, RepaymentRepository repaymentRepository,
+            AmortizationEngine amortizationEngine,
+            @Value("${loan.quote.schedule-cache-size:10000}") long maxSize,
+            @Value("${loan.quote.schedule-cache-ttl:PT10M}") Duration ttl) {
+        this.loanRepository = loanRepository;
+        this.repaymentRepository = repaymentRepository;
+        this.amortizationEngine = amortizationEngine;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public PrepaymentQuoteResponse quote(UUID loanId, BigDecimal amount, String userId, boolean isAdmin) {
+        Loan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new LoanNotFoundException("Loan not found"));
+
+        if (!isAdmin && !loan.getUserId().equals(userId)) {
+            throw new UnauthorizedLoanAccessException("You are not authorized to view this loan.");
+        }
+        // Only loans that could take a repayment can be quoted
+        LoanStateMachine.next(loan.getStatus(), LoanStateMachine.Event.REPAY);
+        if (amount != null && amount.signum() <= 0) {
+            throw new IllegalArgumentException("Prepayment amount must be positive.");
+        }
+
+        List<OpenInstallment> open = schedules.get(new ScheduleKey(loanId, loan.getVersion()), key -> loadOpenInstallments(loan));
+        return buildQuote(loan, open, amount != null ? Money.of(amount) : null, LocalDate.now());
+    }
+
+    private PrepaymentQuoteResponse buildQuote(Loan loan, List<OpenInstallment> open, Money amount, LocalDate asOf) {
+        Money due = Money.ZERO;
+        Money futurePrincipal = Money.ZERO;
+        Money futureInterest = Money.ZERO;
+        List<OpenInstallment> future = new ArrayList<>();
+        for (OpenInstallment installment : open) {
+            if (installment.getDueDate().isAfter(asOf)) {
+                futurePrincipal = futurePrincipal.plus(installment.getPrincipal());
+                futureInterest = futureInterest.plus(installment.getInterest());
+                future.add(installment);
+            } else {
+                due = due.plus(installment.getPrincipal()).plus(installment.getInterest());
+            }
+        }
+        Money payoff = due.plus(futurePrincipal);
+
+        PrepaymentQuoteResponse.PrepaymentQuoteResponseBuilder quote = PrepaymentQuoteResponse.builder()
+                .loanId(loan.getId())
+                .asOf(asOf)
+                .outstandingBalance(payoff.plus(futureInterest))
+                .dueAmount(due)
+                .payoffAmount(payoff);
+
+        if (amount == null || amount.compareTo(payoff) >= 0) {
+            return quote.prepaymentAmount(payoff)
+                    .fullSettlement(true)
+                    .interestSaved(futureInterest)
+                    .remainingSchedule(List.of())
+                    .build();
+        }
+
+        quote.prepaymentAmount(amount).fullSettlement(false);
+        Money extra = amount.minus(due);
+        if (extra.signum() <= 0 || future.isEmpty()) {
+            // Only catches up on what is already due; the future schedule is untouched
+            return quote.interestSaved(Money.ZERO)
+                    .remainingSchedule(future.stream().map(PrepaymentQuoteService::toQuote).toList())
+                    .build();
+        }
+
+        OpenInstallment first = future.get(0);
+        Loan remainder = Loan.builder()
+                .id(loan.getId())
+                .principalAmount(futurePrincipal.minus(extra))
+                .interestRate(loan.getInterestRate())
+                .tenureMonths(future.size())
+                .interestMode(AmortizationEngine.modeOf(loan))
+                .build();
+        List<Repayment> reschedule = amortizationEngine.buildSchedule(remainder, first.getDueDate().minusMonths(1));
+
+        int offset = first.getNumber() - 1;
+        Money newInterest = Money.ZERO;
+        List<InstallmentQuote> remaining = new ArrayList<>(reschedule.size());
+        for (Repayment installment : reschedule) {
+            newInterest = newInterest.plus(installment.getInterestComponent());
+            remaining.add(new InstallmentQuote(offset + installment.getInstallmentNumber(), installment.getDueDate(),
+                    installment.getPrincipalComponent(), installment.getInterestComponent(), installment.getAmount()));
+        }
+        return quote.interestSaved(futureInterest.minus(newInterest).max(Money.ZERO))
+                .remainingSchedule(remaining)
+                .build();
+    }
+
+    private List<OpenInstallment> loadOpenInstallments(Loan loan) {
+        List<Repayment> installments = repaymentRepository
+                .findByLoanIdAndInstallmentNumberNotNullOrderByInstallmentNumberAsc(loan.getId());
+        if (installments.isEmpty()) {
+            // Approved before schedules existed: replay what has been paid against the schedule its terms imply
+            installments = amortizationEngine.buildSchedule(loan, loan.getCreatedAt().toLocalDate());
+            Money paid = loan.getAmountPaid() != null
+                    ? loan.getAmountPaid()
+                    : Money.of(repaymentRepository.sumPaidAmountByLoanId(loan.getId()));
+            amortizationEngine.allocate(installments, paid, LocalDate.now());
+        }
+
+        List<OpenInstallment> open = new ArrayList<>();
+        for (Repayment installment : installments) {
+            if (installment.getStatus() == Repayment.RepaymentStatus.PAID) {
+                continue;
+            }
+            // Partial payments go to interest first
+            Money paid = installment.getPaidAmount() != null ? installment.getPaidAmount() : Money.ZERO;
+            Money interest = installment.getInterestComponent().minus(paid).max(Money.ZERO);
+            Money principal = installment.getAmount().minus(paid).minus(interest);
+            open.add(new OpenInstallment(installment.getInstallmentNumber(), installment.getDueDate(), principal, interest));
+        }
+        return List.copyOf(open);
+    }
+
+    private static InstallmentQuote toQuote(OpenInstallment installment) {
+        return new InstallmentQuote(installment.getNumber(), installment.getDueDate(), installment.getPrincipal(),
+                installment.getInterest(), installment.getPrincipal().plus(installment.getInterest()));
+    }
+
+    @lombok.Value
+    private static class ScheduleKey {
+        UUID loanId;
+        Long version;
+    }
+
+    @lombok.Value
+    private static class OpenInstallment {
+        int number;
+        LocalDate dueDate;
+        Money principal;
+        Money interest;
+    }
+}
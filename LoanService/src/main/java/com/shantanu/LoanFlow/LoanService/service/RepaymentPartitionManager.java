@@ -0,0 +1,336 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Keeps repayments range-partitioned by due_date month. Opt-in: loan.repayments.partitioning.enabled.
+// Hibernate creates repayments as a plain table, so it is converted online, in the background after startup:
+// a partitioned copy is built with a monthly partition for every due date the table holds, a trigger mirrors
+// writes into it, the rows are copied in bounded batches, and a brief exclusive lock swaps the names.
+// From then on monthly partitions are kept created out to loan.repayments.partitioning.months-ahead, so the
+// DEFAULT partition only ever holds the few installments due further out than that. Carving a month out of
+// DEFAULT scans it under an exclusive lock, which stays cheap only while DEFAULT stays that small.
+// Past months left empty by LoanArchiver are detached and dropped. Every pod runs this, so each step is
+// serialised on a Postgres advisory lock.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "loan.repayments.partitioning.enabled", havingValue = "true")
+public class RepaymentPartitionManager {
+
+    private static final long LOCK_KEY = 0x7265706179L; // "repay"
+    private static final String PARTITION_PREFIX = "repayments_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final String COPY = "repayments_partitioned";
+    private static final String OLD = "repayments_unpartitioned";
+
+    // Starts from nothing, so an interrupted earlier attempt is discarded rather than resumed.
+    // The partition key has to be part of the primary key.
+    private static final List<String> PREPARE_SQL = List.of(
+            "DROP TRIGGER IF EXISTS repayments_copy ON repayments",
+            "DROP TABLE IF EXISTS " + COPY,
+            "CREATE TABLE " + COPY + " (LIKE repayments INCLUDING DEFAULTS) PARTITION BY RANGE (due_date)",
+            "ALTER TABLE " + COPY + " ADD CONSTRAINT " + COPY + "_pkey PRIMARY KEY (id, due_date)",
+            "CREATE INDEX " + COPY + "_loan_installment ON " + COPY + " (loan_id, installment_number)",
+            "CREATE INDEX " + COPY + "_status_due_date_id ON " + COPY + " (status, due_date, id)",
+            "CREATE TABLE repayments_default PARTITION OF " + COPY + " DEFAULT");
+
+    // Mirrors every committed change on the old table into the copy while the batches run
+    private static final String TRIGGER_FUNCTION_SQL = """
+            CREATE OR REPLACE FUNCTION repayments_copy() RETURNS trigger LANGUAGE plpgsql AS $$
+            BEGIN
+                IF TG_OP IN ('UPDATE', 'DELETE') THEN
+                    DELETE FROM repayments_partitioned WHERE id = OLD.id AND due_date = OLD.due_date;
+                END IF;
+                IF TG_OP IN ('INSERT', 'UPDATE') THEN
+                    INSERT INTO repayments_partitioned SELECT (NEW).* ON CONFLICT DO NOTHING;
+                END IF;
+                RETURN NULL;
+            END $$
+            """;
+
+    private static final String TRIGGER_SQL =
+            "CREATE TRIGGER repayments_copy AFTER INSERT OR UPDATE OR DELETE ON repayments"
+                    + " FOR EACH ROW EXECUTE FUNCTION repayments_copy()";
+
+    // FOR SHARE makes a concurrent update wait for the batch, so its trigger replaces the copied row
+    // instead of racing it; rows the trigger already copied are skipped by ON CONFLICT
+    private static final String COPY_BATCH_SQL = """
+            WITH batch AS (SELECT * FROM repayments WHERE id > ? ORDER BY id LIMIT ? FOR SHARE),
+                 copied AS (INSERT INTO repayments_partitioned SELECT * FROM batch ON CONFLICT DO NOTHING)
+            SELECT id FROM batch ORDER BY id DESC LIMIT 1
+            """;
+
+    private static final List<String> SWAP_SQL = List.of(
+            "DROP TRIGGER repayments_copy ON repayments",
+            "ALTER TABLE repayments RENAME TO " + OLD,
+            "ALTER TABLE " + OLD + " RENAME CONSTRAINT repayments_pkey TO " + OLD + "_pkey",
+            "ALTER INDEX IF EXISTS idx_repayments_loan_installment RENAME TO " + OLD + "_loan_installment",
+            "ALTER INDEX IF EXISTS idx_repayments_status_due_date_id RENAME TO " + OLD + "_status_due_date_id",
+            "ALTER TABLE " + COPY + " RENAME TO repayments",
+            "ALTER TABLE repayments RENAME CONSTRAINT " + COPY + "_pkey TO repayments_pkey",
+            "ALTER INDEX " + COPY + "_loan_installment RENAME TO idx_repayments_loan_installment",
+            "ALTER INDEX " + COPY + "_status_due_date_id RENAME TO idx_repayments_status_due_date_id",
+            "DROP FUNCTION repayments_copy()");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${loan.repayments.partitioning.months-ahead:12}")
+    private int monthsAhead;
+
+    @Value("${loan.repayments.partitioning.copy-batch-size:5000}")
+    private int copyBatchSize;
+
+    // Gives up on a DDL step rather than queueing every repayment query behind it
+    @Value("${loan.repayments.partitioning.lock-timeout:PT5S}")
+    private Duration lockTimeout;
+
+    // The copy can take a while on a large table, so it runs on the scheduler rather than holding up readiness
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialise() {
+        taskScheduler.schedule(this::convertAndEnsure, Instant.now());
+    }
+
+    @Scheduled(cron = "${loan.repayments.partitioning.cron:0 0 3 * * *}")
+    public void ensurePartitions() {
+        if (!"p".equals(relkind("repayments"))) {
+            return; // Not converted yet
+        }
+        Set<String> existing = new HashSet<>(partitionNames("repayments"));
+        YearMonth current = YearMonth.now();
+        YearMonth horizon = current.plusMonths(monthsAhead);
+        Date oldest = jdbcTemplate.queryForObject("SELECT MIN(due_date) FROM repayments_default", Date.class);
+        Date latest = jdbcTemplate.queryForObject("SELECT MAX(due_date) FROM repayments_default", Date.class);
+        YearMonth month = oldest != null && oldest.toLocalDate().isBefore(LocalDate.now())
+                ? YearMonth.from(oldest.toLocalDate())
+                : current;
+        // Schedules approved since the last run may reach past the horizon; give them their months too
+        if (latest != null && YearMonth.from(latest.toLocalDate()).isAfter(horizon)) {
+            horizon = YearMonth.from(latest.toLocalDate());
+        }
+
+        int created = 0;
+        for (; !month.isAfter(horizon); month = month.plusMonths(1)) {
+            if (!existing.contains(partitionName(month)) && createPartition(month)) {
+                created++;
+            }
+        }
+
+        int dropped = 0;
+        for (String name : existing) {
+            YearMonth partitionMonth = monthOf(name);
+            if (partitionMonth != null && partitionMonth.isBefore(current) && dropIfEmpty(name)) {
+                dropped++;
+            }
+        }
+        if (created > 0 || dropped > 0) {
+            log.info("Created {} and dropped {} empty monthly repayments partitions, horizon {}", created, dropped, horizon);
+        }
+    }
+
+    private void convertAndEnsure() {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    // Session lock on this one connection, held from the copy's creation through the swap
+                    statement.execute("SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+                    try {
+                        if ("r".equals(relkind(statement, "repayments"))) {
+                            convert(connection, statement);
+                        }
+                        statement.execute("DROP TABLE IF EXISTS " + OLD);
+                    } finally {
+                        statement.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+                    }
+                }
+                return null;
+            });
+            ensurePartitions();
+        } catch (RuntimeException e) {
+            log.error("Repayments partitioning failed; repayments stays as it is and the next start retries", e);
+        }
+    }
+
+    private void convert(Connection connection, Statement statement) throws SQLException {
+        log.info("Converting repayments to a table partitioned by due_date month");
+        statement.execute("SET lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+        try {
+            for (String sql : PREPARE_SQL) {
+                statement.execute(sql);
+            }
+            createCopyPartitions(statement);
+            statement.execute(TRIGGER_FUNCTION_SQL);
+            statement.execute(TRIGGER_SQL);
+        } finally {
+            statement.execute("RESET lock_timeout");
+        }
+
+        try {
+            int batches = copyRows(connection);
+            log.info("Copied repayments into the partitioned table in {} batches; swapping it in", batches);
+            swap(connection, statement);
+        } catch (SQLException | RuntimeException e) {
+            // Stop mirroring writes into a copy nothing will use; the next start begins again
+            statement.execute("DROP TRIGGER IF EXISTS repayments_copy ON repayments");
+            statement.execute("DROP TABLE IF EXISTS " + COPY);
+            throw e;
+        }
+    }
+
+    private void swap(Connection connection, Statement statement) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            statement.execute("SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+            for (String sql : SWAP_SQL) {
+                statement.execute(sql);
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    // One partition per month from the oldest due date to the latest or the horizon, whichever is later,
+    // so the copy leaves DEFAULT empty. The copy has no rows yet, so each one is instant.
+    private void createCopyPartitions(Statement statement) throws SQLException {
+        LocalDate oldest;
+        LocalDate latest;
+        try (ResultSet rs = statement.executeQuery("SELECT MIN(due_date), MAX(due_date) FROM repayments")) {
+            rs.next();
+            oldest = rs.getDate(1) != null ? rs.getDate(1).toLocalDate() : LocalDate.now();
+            latest = rs.getDate(2) != null ? rs.getDate(2).toLocalDate() : LocalDate.now();
+        }
+        YearMonth horizon = YearMonth.now().plusMonths(monthsAhead);
+        YearMonth last = YearMonth.from(latest).isAfter(horizon) ? YearMonth.from(latest) : horizon;
+        for (YearMonth month = YearMonth.from(oldest); !month.isAfter(last); month = month.plusMonths(1)) {
+            statement.execute("CREATE TABLE " + partitionName(month) + " PARTITION OF " + COPY
+                    + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    // Each batch is its own short autocommit transaction; id order walks the old table's primary key
+    private int copyRows(Connection connection) throws SQLException {
+        int batches = 0;
+        UUID after = new UUID(0, 0);
+        try (PreparedStatement batch = connection.prepareStatement(COPY_BATCH_SQL)) {
+            while (true) {
+                batch.setObject(1, after);
+                batch.setInt(2, copyBatchSize);
+                try (ResultSet rs = batch.executeQuery()) {
+                    if (!rs.next()) {
+                        return batches;
+                    }
+                    after = rs.getObject(1, UUID.class);
+                }
+                batches++;
+            }
+        }
+    }
+
+    // DEFAULT only holds installments due past the horizon, so moving them and the scan ATTACH does of
+    // DEFAULT are quick. Done in one transaction so the rows never leave the parent's view.
+    private boolean createPartition(YearMonth month) {
+        String name = partitionName(month);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            // Another pod holding the lock is doing the same work; it will have created the month
+            if (!tryLock() || partitionNames("repayments").contains(name)) {
+                return false;
+            }
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE repayments INCLUDING DEFAULTS)");
+            jdbcTemplate.execute("WITH moved AS (DELETE FROM repayments_default WHERE due_date >= DATE '" + from
+                    + "' AND due_date < DATE '" + to + "' RETURNING *) INSERT INTO " + name + " SELECT * FROM moved");
+            jdbcTemplate.execute("ALTER TABLE repayments ATTACH PARTITION " + name
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            return true;
+        }));
+    }
+
+    // A past month only ever loses rows, to the archiver; the exclusive lock makes the emptiness check final
+    private boolean dropIfEmpty(String name) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!tryLock() || !partitionNames("repayments").contains(name)) {
+                return false;
+            }
+            jdbcTemplate.execute("LOCK TABLE " + name + " IN ACCESS EXCLUSIVE MODE");
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + name + ")", Boolean.class))) {
+                return false;
+            }
+            jdbcTemplate.execute("ALTER TABLE repayments DETACH PARTITION " + name);
+            jdbcTemplate.execute("DROP TABLE " + name);
+            return true;
+        }));
+    }
+
+    private boolean tryLock() {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY));
+    }
+
+    // "r" for a plain table, "p" for a partitioned one, null if there is no such table
+    private String relkind(String table) {
+        return jdbcTemplate.query("SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)",
+                (rs, rowNum) -> rs.getString(1), table).stream().findFirst().orElse(null);
+    }
+
+    private static String relkind(Statement statement, String table) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass('" + table + "')")) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    private List<String> partitionNames(String parent) {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = CAST(? AS regclass)
+                """, String.class, parent);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    // Null for repayments_default and anything else not named by partitionName
+    private static YearMonth monthOf(String name) {
+        try {
+            return YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
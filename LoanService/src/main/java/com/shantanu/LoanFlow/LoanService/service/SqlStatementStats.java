@@ -0,0 +1,176 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shantanu.LoanFlow.LoanService.dto.SqlShapeStatsResponse;
+import com.shantanu.LoanFlow.LoanService.dto.SqlStatsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.regex.Pattern;
+
+// Per-shape statement statistics fed by SqlStatsDataSource. Only a sampled share of executions is
+// timed and normalised, so the figures are estimates scaled by loan.sql-stats.sample-rate.
+// N+1 detection is exact: within a web request every SELECT is counted by its raw SQL, which for a
+// prepared statement is already parameter-free, and repeats past the threshold are reported.
+@Component
+@Slf4j
+public class SqlStatementStats {
+
+    public enum Order {
+        TOTAL, MAX
+    }
+
+    private static final String OTHER_SHAPE = "<other>";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ROW_LIST = Pattern.compile("(\\(\\?(?:\\.\\.\\.)?\\))(?:\\s*,\\s*\\(\\?(?:\\.\\.\\.)?\\))+");
+
+    private final double sampleRate;
+    private final int maxShapes;
+    private final int nPlusOneThreshold;
+
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Cache<String, String> normalised;
+    private final ThreadLocal<Map<String, int[]>> requestSelects = new ThreadLocal<>();
+
+    public SqlStatementStats(@Value("${loan.sql-stats.sample-rate:0.1}") double sampleRate,
+            @Value("${loan.sql-stats.max-shapes:2000}") int maxShapes,
+            @Value("${loan.sql-stats.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        this.sampleRate = sampleRate;
+        this.maxShapes = maxShapes;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.normalised = Caffeine.newBuilder()
+                .maximumSize(maxShapes * 4L)
+                .build();
+    }
+
+    public boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    // Records one sampled execution; the returned consumer adds rows read later from its result set
+    public LongConsumer record(String sql, long elapsedNanos, long rows) {
+        ShapeStats stats = statsFor(shapeOf(sql));
+        stats.executions.increment();
+        stats.totalNanos.add(elapsedNanos);
+        stats.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        stats.rows.add(rows);
+        return stats.rows::add;
+    }
+
+    public void beginRequest() {
+        requestSelects.set(new HashMap<>());
+    }
+
+    public void executed(String sql) {
+        Map<String, int[]> selects = requestSelects.get();
+        if (selects != null && isSelect(sql)) {
+            selects.computeIfAbsent(sql, key -> new int[1])[0]++;
+        }
+    }
+
+    public void endRequest(String request) {
+        Map<String, int[]> selects = requestSelects.get();
+        requestSelects.remove();
+        if (selects == null) {
+            return;
+        }
+        selects.forEach((sql, count) -> {
+            if (count[0] >= nPlusOneThreshold) {
+                String shape = shapeOf(sql);
+                statsFor(shape).nPlusOneRequests.increment();
+                log.warn("Possible N+1 in {}: {} executions of {}", request, count[0], shape);
+            }
+        });
+    }
+
+    public SqlStatsResponse top(int limit, Order order) {
+        Comparator<ShapeStats> comparator = order == Order.MAX
+                ? Comparator.comparingLong(stats -> stats.maxNanos.get())
+                : Comparator.comparingLong(stats -> stats.totalNanos.sum());
+        return SqlStatsResponse.builder()
+                .sampleRate(sampleRate)
+                .shapeCount(shapes.size())
+                .shapes(shapes.values().stream()
+                        .sorted(comparator.reversed())
+                        .limit(limit)
+                        .map(this::toResponse)
+                        .toList())
+                .build();
+    }
+
+    public void reset() {
+        shapes.clear();
+    }
+
+    private SqlShapeStatsResponse toResponse(ShapeStats stats) {
+        long executions = stats.executions.sum();
+        double totalMillis = stats.totalNanos.sum() / 1e6;
+        return SqlShapeStatsResponse.builder()
+                .shape(stats.shape)
+                .sampledExecutions(executions)
+                .estimatedExecutions(sampleRate > 0 ? Math.round(executions / Math.min(sampleRate, 1.0)) : 0)
+                .totalMillis(totalMillis)
+                .meanMillis(executions > 0 ? totalMillis / executions : 0)
+                .maxMillis(stats.maxNanos.get() / 1e6)
+                .rows(stats.rows.sum())
+                .requestsWithNPlusOne(stats.nPlusOneRequests.sum())
+                .build();
+    }
+
+    // New shapes past the cap are folded into one bucket so a query with inlined values cannot grow the map
+    private ShapeStats statsFor(String shape) {
+        ShapeStats stats = shapes.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        String key = shapes.size() < maxShapes ? shape : OTHER_SHAPE;
+        return shapes.computeIfAbsent(key, ShapeStats::new);
+    }
+
+    private String shapeOf(String sql) {
+        return normalised.get(sql, SqlStatementStats::normalise);
+    }
+
+    private static String normalise(String sql) {
+        String shape = WHITESPACE.matcher(sql).replaceAll(" ").trim();
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?...)");
+        return ROW_LIST.matcher(shape).replaceAll("$1, ...");
+    }
+
+    private static boolean isSelect(String sql) {
+        int start = 0;
+        while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        return sql.regionMatches(true, start, "select", 0, 6);
+    }
+
+    private static class ShapeStats {
+        private final String shape;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nPlusOneRequests = new LongAdder();
+
+        private ShapeStats(String shape) {
+            this.shape = shape;
+        }
+    }
+}
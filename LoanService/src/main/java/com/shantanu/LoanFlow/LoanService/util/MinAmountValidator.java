@@ -0,0 +1,21 @@
+package com.shantanu.LoanFlow.LoanService.util;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.math.BigDecimal;
+
+public class MinAmountValidator implements ConstraintValidator<MinAmount, Money> {
+
+    private Money min;
+
+    @Override
+    public void initialize(MinAmount constraint) {
+        min = Money.ofExact(new BigDecimal(constraint.value()));
+    }
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        return value == null || value.compareTo(min) >= 0;
+    }
+}
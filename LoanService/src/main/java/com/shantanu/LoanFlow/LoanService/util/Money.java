@@ -0,0 +1,114 @@
+package com.shantanu.LoanFlow.LoanService.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Immutable amount in minor units (cents). Arithmetic stays in long and fails loudly on overflow
+// rather than wrapping; callers that can overflow fall back to BigDecimal.
+// Rounding rule: anything finer than a cent rounds HALF_UP, matching the BigDecimal code it replaces.
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    // Rounds sub-cent values HALF_UP
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(SCALE, ROUNDING).unscaledValue().longValueExact());
+    }
+
+    // Throws ArithmeticException if the amount has sub-cent digits or does not fit in a long
+    public static Money ofExact(BigDecimal amount) {
+        return ofCents(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(long factor) {
+        return ofCents(Math.multiplyExact(cents, factor));
+    }
+
+    // Rounds HALF_UP to the cent, divisor > 0
+    public Money dividedBy(long divisor) {
+        return ofCents(divideHalfUp(cents, divisor));
+    }
+
+    public Money min(Money other) {
+        return cents <= other.cents ? this : other;
+    }
+
+    public Money max(Money other) {
+        return cents >= other.cents ? this : other;
+    }
+
+    public Money negate() {
+        return ofCents(Math.negateExact(cents));
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    // For JDBC parameters and other nullable columns
+    public static BigDecimal toBigDecimal(Money money) {
+        return money != null ? money.toBigDecimal() : null;
+    }
+
+    public static Money ofNullable(BigDecimal amount) {
+        return amount != null ? of(amount) : null;
+    }
+
+    // numerator / divisor rounded HALF_UP (away from zero on a tie), divisor > 0
+    public static long divideHalfUp(long numerator, long divisor) {
+        long quotient = numerator / divisor;
+        long remainder = Math.abs(numerator % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += Long.signum(numerator);
+        }
+        return quotient;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && cents == other.cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
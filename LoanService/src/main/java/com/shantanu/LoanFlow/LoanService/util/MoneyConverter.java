@@ -0,0 +1,21 @@
+package com.shantanu.LoanFlow.LoanService.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+// Stores Money in the existing numeric columns, so switching a field to Money needs no schema change
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return Money.toBigDecimal(money);
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal value) {
+        return Money.ofNullable(value);
+    }
+}
@@ -0,0 +1,35 @@
+package com.shantanu.LoanFlow.LoanService.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time-ordered UUIDs (RFC 9562 version 7): 48-bit Unix millis, then a 12-bit sequence, then random bits.
+// New keys land at the right edge of the primary-key B-tree instead of on random pages.
+// They share the uuid column type with the existing random (v4) IDs.
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Last issued (millis << 12 | sequence); keeps IDs from one JVM strictly increasing
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long timeAndSequence = LAST.updateAndGet(last -> {
+            long candidate = System.currentTimeMillis() << 12;
+            // Same millisecond (or clock went back): bump the sequence, spilling into the timestamp if needed
+            return candidate > last ? candidate : last + 1;
+        });
+        long millis = timeAndSequence >>> 12;
+        long sequence = timeAndSequence & 0xFFF;
+
+        long msb = (millis & 0xFFFF_FFFF_FFFFL) << 16
+                | 0x7000L
+                | sequence;
+        long lsb = RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+}
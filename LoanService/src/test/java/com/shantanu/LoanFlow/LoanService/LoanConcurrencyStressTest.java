@@ -0,0 +1,218 @@
+package com.shantanu.LoanFlow.LoanService;
+
+import com.shantanu.LoanFlow.LoanService.controller.AdminController;
+import com.shantanu.LoanFlow.LoanService.controller.LoanController;
+import com.shantanu.LoanFlow.LoanService.dto.LoanRequest;
+import com.shantanu.LoanFlow.LoanService.dto.LoanResponse;
+import com.shantanu.LoanFlow.LoanService.dto.RepaymentRequest;
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.exception.InvalidLoanStateException;
+import com.shantanu.LoanFlow.LoanService.repository.LoanRepository;
+import com.shantanu.LoanFlow.LoanService.service.LoanStatusHistoryWriter;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Hammers the optimistic-lock paths through the same controller entry points, and so the same conflict
+// retries, that HTTP requests use. Repayments race on a few loans until they settle; approve and reject
+// race on pending loans. Afterwards the database must show no overpayment, no payment lost or counted twice,
+// and exactly one transition out of PENDING per loan. Throughput is logged for comparison between runs.
+@Slf4j
+@TestPropertySource(properties = {
+        // Contention here is far above production's, so give a request more attempts before it gives up
+        "loan.retry.max-attempts=50",
+        "loan.retry.backoff=PT0.001S"
+})
+class LoanConcurrencyStressTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 32;
+    private static final int REPAY_LOANS = 50;
+    private static final int REPAYMENTS = 4_000;
+    private static final int TRANSITION_LOANS = 200;
+    private static final int TRANSITION_ATTEMPTS_PER_LOAN = 10;
+
+    @Autowired
+    private LoanController loanController;
+
+    @Autowired
+    private AdminController adminController;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanStatusHistoryWriter loanStatusHistoryWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentRepaymentsNeverOverpayOrLosePayments() throws InterruptedException {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<Loan> loans = new ArrayList<>(REPAY_LOANS);
+        for (int i = 0; i < REPAY_LOANS; i++) {
+            String userId = "stress-" + run + "-repay-" + i;
+            UUID loanId = apply(userId, i % 2 == 0 ? Loan.InterestMode.FLAT : Loan.InterestMode.EMI);
+            adminController.approveLoan(loanId);
+            loans.add(loanRepository.findById(loanId).orElseThrow());
+        }
+
+        Map<UUID, LongAdder> acceptedCents = new ConcurrentHashMap<>();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        AtomicInteger gaveUp = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        long elapsed = runConcurrently(REPAYMENTS, task -> {
+            Loan loan = loans.get(task % REPAY_LOANS);
+            // Roughly 20 payments settle a loan, so later ones run into the overpayment check
+            long total = loan.getTotalRepayable().cents();
+            Money amount = Money.ofCents(Math.max(100, ThreadLocalRandom.current().nextLong(total / 40, total / 10)));
+            RepaymentRequest request = new RepaymentRequest();
+            request.setAmount(amount);
+            try {
+                loanController.repayLoan(loan.getUserId(), null, loan.getId(), request);
+                acceptedCents.computeIfAbsent(loan.getId(), id -> new LongAdder()).add(amount.cents());
+                accepted.incrementAndGet();
+            } catch (InvalidLoanStateException e) {
+                refused.incrementAndGet(); // Exceeds the balance, or the loan has closed
+            } catch (OptimisticLockingFailureException e) {
+                gaveUp.incrementAndGet();
+            } catch (Throwable e) {
+                unexpected.add(e);
+            }
+        });
+        log.info("{} repayments on {} loans in {} ms ({} ops/s): {} accepted, {} refused, {} out of retries",
+                REPAYMENTS, REPAY_LOANS, elapsed, opsPerSecond(REPAYMENTS, elapsed), accepted, refused, gaveUp);
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        for (Loan before : loans) {
+            Loan after = loanRepository.findById(before.getId()).orElseThrow();
+            long paid = after.getAmountPaid().cents();
+            long expected = acceptedCents.getOrDefault(before.getId(), new LongAdder()).sum();
+            assertEquals(expected, paid, "amount_paid must equal the sum of accepted repayments for " + before.getId());
+            assertTrue(paid <= after.getTotalRepayable().cents(), "Overpaid loan " + before.getId());
+
+            BigDecimal allocated = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(paid_amount), 0) FROM repayments WHERE loan_id = ?", BigDecimal.class, before.getId());
+            assertEquals(paid, Money.of(allocated).cents(), "Installments must account for every accepted repayment");
+            assertEquals(paid == after.getTotalRepayable().cents(), after.getStatus() == Loan.LoanStatus.CLOSED,
+                    "Loan " + before.getId() + " must be CLOSED exactly when fully paid");
+        }
+    }
+
+    @Test
+    void racingApproveAndRejectTransitionEachLoanOnce() throws InterruptedException {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<UUID> loanIds = new ArrayList<>(TRANSITION_LOANS);
+        for (int i = 0; i < TRANSITION_LOANS; i++) {
+            loanIds.add(apply("stress-" + run + "-transition-" + i, Loan.InterestMode.EMI));
+        }
+
+        Map<UUID, Queue<Loan.LoanStatus>> winners = new ConcurrentHashMap<>();
+        AtomicInteger gaveUp = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        int attempts = TRANSITION_LOANS * TRANSITION_ATTEMPTS_PER_LOAN;
+
+        long elapsed = runConcurrently(attempts, task -> {
+            UUID loanId = loanIds.get(task % TRANSITION_LOANS);
+            boolean approve = (task / TRANSITION_LOANS) % 2 == 0;
+            try {
+                LoanResponse response = approve
+                        ? adminController.approveLoan(loanId).getBody()
+                        : adminController.rejectLoan(loanId).getBody();
+                winners.computeIfAbsent(loanId, id -> new ConcurrentLinkedQueue<>()).add(response.getStatus());
+            } catch (InvalidLoanStateException e) {
+                // Lost the race to the other transition
+            } catch (OptimisticLockingFailureException e) {
+                gaveUp.incrementAndGet();
+            } catch (Throwable e) {
+                unexpected.add(e);
+            }
+        });
+        log.info("{} approve/reject attempts on {} loans in {} ms ({} ops/s), {} out of retries",
+                attempts, TRANSITION_LOANS, elapsed, opsPerSecond(attempts, elapsed), gaveUp);
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        loanStatusHistoryWriter.flush();
+        for (UUID loanId : loanIds) {
+            Queue<Loan.LoanStatus> won = winners.get(loanId);
+            assertEquals(1, won == null ? 0 : won.size(), "Exactly one transition must succeed for " + loanId);
+            assertEquals(won.peek(), loanRepository.findById(loanId).orElseThrow().getStatus());
+            Integer fromPending = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM loan_status_history WHERE loan_id = ? AND from_status = 'PENDING'",
+                    Integer.class, loanId);
+            assertEquals(1, fromPending, "History must record one transition out of PENDING for " + loanId);
+        }
+    }
+
+    private UUID apply(String userId, Loan.InterestMode mode) {
+        Random random = new Random(userId.hashCode());
+        LoanRequest request = new LoanRequest();
+        request.setLoanType(Loan.LoanType.PERSONAL);
+        request.setPrincipalAmount(Money.ofCents(1_000_000 + random.nextInt(5_000_000)));
+        request.setInterestRate(new BigDecimal("11.50"));
+        request.setTenureMonths(12);
+        request.setInterestMode(mode);
+        return loanController.applyLoan(userId, null, request).getBody().getId();
+    }
+
+    // Runs tasks 0..count-1 on THREADS threads, all released together; returns the wall time in ms
+    private static long runConcurrently(int count, TaskBody body) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(count);
+        AtomicLong started = new AtomicLong();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int task = 0; task < count; task++) {
+                int current = task;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        body.run(current);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            started.set(System.nanoTime());
+            start.countDown();
+            done.await();
+        }
+        return (System.nanoTime() - started.get()) / 1_000_000;
+    }
+
+    private static long opsPerSecond(int ops, long millis) {
+        return millis == 0 ? ops : ops * 1000L / millis;
+    }
+
+    @FunctionalInterface
+    private interface TaskBody {
+        void run(int task);
+    }
+}
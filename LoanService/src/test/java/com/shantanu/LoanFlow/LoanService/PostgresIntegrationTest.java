@@ -0,0 +1,54 @@
+package com.shantanu.LoanFlow.LoanService;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Base for tests that need a real Postgres. Point LOAN_TEST_DB_URL (plus LOAN_TEST_DB_USER and
+// LOAN_TEST_DB_PASSWORD) at a scratch database, e.g.
+//   docker run -d -p 5432:5432 -e POSTGRES_HOST_AUTH_METHOD=trust -e POSTGRES_DB=loanservice_test postgres:16
+// Tests are skipped, not failed, when the database is unreachable. The schema comes from ddl-auto, and
+// every test works on rows it created itself, so the database can be reused between runs.
+// Background jobs that would touch the same rows are switched off.
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "loan.balance.backfill-on-startup=false",
+        "loan.summary.rebuild-on-startup=false",
+        "loan.overdue.enabled=false",
+        "loan.archive.enabled=false",
+        "loan.repayments.partitioning.enabled=false"
+})
+public abstract class PostgresIntegrationTest {
+
+    protected static final String URL = env("LOAN_TEST_DB_URL", "jdbc:postgresql://localhost:5432/loanservice_test");
+    protected static final String USER = env("LOAN_TEST_DB_USER", "postgres");
+    protected static final String PASSWORD = env("LOAN_TEST_DB_PASSWORD", "");
+
+    @BeforeAll
+    static void requirePostgres() {
+        try (Connection ignored = DriverManager.getConnection(URL, USER, PASSWORD)) {
+            // reachable
+        } catch (SQLException e) {
+            assumeTrue(false, "Postgres not reachable at " + URL + ": " + e.getMessage());
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> URL);
+        registry.add("spring.datasource.username", () -> USER);
+        registry.add("spring.datasource.password", () -> PASSWORD);
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+}
@@ -0,0 +1,255 @@
+package com.shantanu.LoanFlow.LoanService.repository;
+
+import com.shantanu.LoanFlow.LoanService.PostgresIntegrationTest;
+import com.shantanu.LoanFlow.LoanService.dto.LoanCursor;
+import com.shantanu.LoanFlow.LoanService.dto.LoanResponse;
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.Repayment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the hot repository methods against a seeded database, captures the SQL Hibernate, Spring Data
+// and the JDBC repositories actually send, with its bound parameters, and EXPLAINs each statement as
+// sent. The planner keeps its normal settings, so a Seq Scan here is one production would choose too.
+class LoanQueryPlanTest extends PostgresIntegrationTest {
+
+    private static final String SEED_USER = "plan-seed-";
+    private static final int SEED_LOANS = 20_000;
+    private static final int SEED_USERS = 2_000;
+    private static final int INSTALLMENTS = 12;
+
+    private static final List<Repayment.RepaymentStatus> OPEN =
+            List.of(Repayment.RepaymentStatus.PENDING, Repayment.RepaymentStatus.OVERDUE);
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private RepaymentRepository repaymentRepository;
+
+    @Autowired
+    private RepaymentBatchRepository repaymentBatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seed() {
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM loans WHERE user_id LIKE ?", Integer.class, SEED_USER + "%");
+        Boolean overdueSeeded = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM repayments r JOIN loans l ON l.loan_id = r.loan_id
+                               WHERE l.user_id LIKE ? AND r.status = 'PENDING' AND r.due_date < CURRENT_DATE)
+                """, Boolean.class, SEED_USER + "%");
+        if (seeded != null && seeded >= SEED_LOANS && Boolean.TRUE.equals(overdueSeeded)) {
+            return;
+        }
+        // An earlier seed without past-due installments is replaced rather than topped up
+        jdbcTemplate.update("DELETE FROM repayments WHERE loan_id IN (SELECT loan_id FROM loans WHERE user_id LIKE ?)",
+                SEED_USER + "%");
+        jdbcTemplate.update("DELETE FROM loans WHERE user_id LIKE ?", SEED_USER + "%");
+        // Status follows i / SEED_USERS, so every user has loans in every status
+        jdbcTemplate.update("""
+                INSERT INTO loans (loan_id, user_id, loan_type, principal_amount, interest_rate, tenure_months, status,
+                                   interest_mode, total_repayable, amount_paid, version, created_at, updated_at)
+                SELECT gen_random_uuid(), ? || (i % ?), (ARRAY['PERSONAL', 'HOME', 'EDUCATION'])[1 + i % 3],
+                       100000, 10.5, ?, (ARRAY['PENDING', 'APPROVED', 'REJECTED', 'ACTIVE', 'CLOSED'])[1 + (i / ?) % 5],
+                       'EMI', 110000, 0, 0, now() - i * interval '1 minute', now() - i * interval '1 minute'
+                FROM generate_series(1, ?) i
+                """, SEED_USER, SEED_USERS, INSTALLMENTS, SEED_USERS, SEED_LOANS);
+        // Schedules end around the loan's creation date, so most unpaid installments are already past due
+        // and the overdue sweep has rows to chunk through
+        jdbcTemplate.update("""
+                INSERT INTO repayments (id, loan_id, installment_number, amount, principal_component, interest_component,
+                                        paid_amount, due_date, status)
+                SELECT gen_random_uuid(), l.loan_id, n, 9166.67, 8333.33, 833.34, 0,
+                       CAST(l.created_at AS date) - (? - n) * 30, CASE WHEN n <= 3 THEN 'PAID' ELSE 'PENDING' END
+                FROM loans l CROSS JOIN generate_series(1, ?) n
+                WHERE l.user_id LIKE ? AND l.status IN ('APPROVED', 'ACTIVE', 'CLOSED')
+                """, INSTALLMENTS, INSTALLMENTS, SEED_USER + "%");
+        jdbcTemplate.execute("ANALYZE loans");
+        jdbcTemplate.execute("ANALYZE repayments");
+    }
+
+    @Test
+    void hotQueriesUseAnIndex() {
+        String userId = SEED_USER + 42;
+        UUID loanId = jdbcTemplate.queryForObject(
+                "SELECT loan_id FROM loans WHERE user_id = ? AND status = 'ACTIVE' LIMIT 1", UUID.class, userId);
+
+        List<CapturedStatement> statements = CapturingDataSource.capture(() -> {
+            loanRepository.existsByUserIdAndLoanTypeAndStatusIn(userId, Loan.LoanType.HOME,
+                    List.of(Loan.LoanStatus.PENDING, Loan.LoanStatus.APPROVED, Loan.LoanStatus.ACTIVE));
+            loanRepository.findResponsesByUserId(userId);
+
+            // First page, then the next one through the cursor the service would hand out
+            for (Loan.LoanStatus status : new Loan.LoanStatus[] {null, Loan.LoanStatus.PENDING}) {
+                List<LoanResponse> page = loanRepository.findKeysetPage(status, null, null, 51);
+                assertFalse(page.isEmpty());
+                loanRepository.findKeysetPage(status, null, LoanCursor.of(page.get(page.size() - 1)), 51);
+            }
+
+            repaymentRepository.findByLoanIdAndStatusInOrderByInstallmentNumberAsc(loanId, OPEN, PageRequest.of(0, 12));
+            repaymentRepository.findByLoanIdAndInstallmentNumberNotNullOrderByInstallmentNumberAsc(loanId);
+            transactionTemplate.executeWithoutResult(status -> {
+                RepaymentBatchRepository.OverdueChunk first = repaymentBatchRepository.markOverdue(LocalDate.now(), null, null, 500);
+                assertNotNull(first);
+                repaymentBatchRepository.markOverdue(LocalDate.now(), first.getLastDueDate(), first.getLastId(), 500);
+                repaymentBatchRepository.markRemainingOverdue(LocalDate.now(), 500);
+                status.setRollbackOnly();
+            });
+        });
+
+        assertFalse(statements.isEmpty(), "No statements were captured");
+        List<String> seqScans = new ArrayList<>();
+        for (CapturedStatement statement : statements) {
+            List<String> plan = explain(statement);
+            if (plan.stream().anyMatch(line -> line.contains("Seq Scan"))) {
+                seqScans.add(statement.sql() + "\n  " + String.join("\n  ", plan));
+            }
+        }
+        assertTrue(seqScans.isEmpty(), () -> "Sequential scans in:\n" + String.join("\n\n", seqScans));
+    }
+
+    // EXPLAIN of the statement as sent, with the same parameter values bound the same way
+    private List<String> explain(CapturedStatement statement) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                for (ParameterCall call : statement.parameters()) {
+                    call.method().invoke(explain, call.args());
+                }
+                List<String> plan = new ArrayList<>();
+                try (var rs = explain.executeQuery()) {
+                    while (rs.next()) {
+                        plan.add(rs.getString(1));
+                    }
+                }
+                return plan;
+            } catch (ReflectiveOperationException e) {
+                throw new SQLException("Could not replay parameters for " + statement.sql(), e);
+            }
+        });
+    }
+
+    record ParameterCall(Method method, Object[] args) {
+    }
+
+    record CapturedStatement(String sql, List<ParameterCall> parameters) {
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                            ? new CapturingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    // Records every prepared statement executed on the capturing thread, with its setXxx calls
+    static class CapturingDataSource extends DelegatingDataSource {
+
+        private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        static List<CapturedStatement> capture(Runnable work) {
+            List<CapturedStatement> captured = new ArrayList<>();
+            CAPTURED.set(captured);
+            try {
+                work.run();
+            } finally {
+                CAPTURED.remove();
+            }
+            return captured;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = obtainTargetDataSource().getConnection();
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if ("prepareStatement".equals(method.getName()) && result instanceof PreparedStatement statement) {
+                    return proxy(PreparedStatement.class, new StatementHandler(statement, (String) args[0]));
+                }
+                return result;
+            });
+        }
+
+        private static class StatementHandler implements InvocationHandler {
+            private final PreparedStatement target;
+            private final String sql;
+            private List<ParameterCall> parameters = new ArrayList<>();
+
+            private StatementHandler(PreparedStatement target, String sql) {
+                this.target = target;
+                this.sql = sql;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    parameters.add(new ParameterCall(method, args.clone()));
+                } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                    List<CapturedStatement> captured = CAPTURED.get();
+                    if (captured != null) {
+                        captured.add(new CapturedStatement(sql, List.copyOf(parameters)));
+                    }
+                } else if ("clearParameters".equals(name)) {
+                    parameters = new ArrayList<>();
+                }
+                return CapturingDataSource.invoke(target, method, args);
+            }
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(CapturingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.shantanu.LoanFlow.LoanService.service;
+
+import com.shantanu.LoanFlow.LoanService.entity.Loan;
+import com.shantanu.LoanFlow.LoanService.entity.Repayment;
+import com.shantanu.LoanFlow.LoanService.util.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The cents arithmetic must give the same answer, to the cent, as the BigDecimal code it replaced.
+// Each property runs against randomly generated loans and payments from a fixed seed, so a failure
+// reproduces; the reference implementations below are the pre-Money formulas verbatim.
+class MoneyArithmeticPropertyTest {
+
+    private static final long SEED = 20240117L;
+    private static final int TRIALS = 5_000;
+    private static final BigDecimal MONTHS_TIMES_PERCENT = BigDecimal.valueOf(1200);
+    private static final MathContext RATE_PRECISION = MathContext.DECIMAL64;
+    private static final LocalDate APPROVED = LocalDate.of(2024, 1, 15);
+
+    private final InterestCalculator interestCalculator = new InterestCalculator();
+    // Schedule building and allocation never reach the repositories
+    private final AmortizationEngine amortizationEngine = new AmortizationEngine(interestCalculator, null, null,
+            new LoanMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void divideHalfUpMatchesBigDecimal() {
+        Random random = new Random(SEED);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            long numerator = random.nextLong() / 2;
+            long divisor = 1 + random.nextInt(1_000_000);
+            BigDecimal expected = BigDecimal.valueOf(numerator).divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP);
+            assertEquals(expected.longValueExact(), Money.divideHalfUp(numerator, divisor),
+                    () -> numerator + " / " + divisor);
+        }
+    }
+
+    @Test
+    void flatInterestMatchesBigDecimal() {
+        Random random = new Random(SEED);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            Loan loan = randomLoan(random, Loan.InterestMode.FLAT);
+            assertEquals(referenceFlatInterest(loan), interestCalculator.flatInterest(loan).toBigDecimal(), loan::toString);
+            assertEquals(loan.getPrincipalAmount().toBigDecimal().add(referenceFlatInterest(loan)),
+                    interestCalculator.flatTotalRepayable(loan).toBigDecimal(), loan::toString);
+        }
+    }
+
+    @Test
+    void emiMatchesBigDecimal() {
+        Random random = new Random(SEED);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            Loan loan = randomLoan(random, Loan.InterestMode.EMI);
+            assertEquals(referenceEmi(loan), interestCalculator.emi(loan).toBigDecimal(), loan::toString);
+        }
+    }
+
+    @Test
+    void schedulesMatchBigDecimal() {
+        Random random = new Random(SEED);
+        for (int trial = 0; trial < TRIALS / 10; trial++) {
+            Loan loan = randomLoan(random, random.nextBoolean() ? Loan.InterestMode.FLAT : Loan.InterestMode.EMI);
+            List<BigDecimal[]> expected = loan.getInterestMode() == Loan.InterestMode.EMI
+                    ? referenceEmiSchedule(loan)
+                    : referenceFlatSchedule(loan);
+            List<Repayment> actual = amortizationEngine.buildSchedule(loan, APPROVED);
+
+            assertEquals(expected.size(), actual.size(), loan::toString);
+            BigDecimal total = BigDecimal.ZERO;
+            for (int i = 0; i < expected.size(); i++) {
+                Repayment installment = actual.get(i);
+                assertEquals(expected.get(i)[0], installment.getPrincipalComponent().toBigDecimal(), loan::toString);
+                assertEquals(expected.get(i)[1], installment.getInterestComponent().toBigDecimal(), loan::toString);
+                assertEquals(expected.get(i)[0].add(expected.get(i)[1]), installment.getAmount().toBigDecimal(), loan::toString);
+                total = total.add(expected.get(i)[0]).add(expected.get(i)[1]);
+            }
+            assertEquals(total, amortizationEngine.totalRepayable(loan).toBigDecimal(), loan::toString);
+        }
+    }
+
+    @Test
+    void allocateMatchesBigDecimal() {
+        Random random = new Random(SEED);
+        for (int trial = 0; trial < TRIALS / 10; trial++) {
+            Loan loan = randomLoan(random, random.nextBoolean() ? Loan.InterestMode.FLAT : Loan.InterestMode.EMI);
+            List<Repayment> installments = amortizationEngine.buildSchedule(loan, APPROVED);
+            BigDecimal[] expectedPaid = new BigDecimal[installments.size()];
+            for (int i = 0; i < expectedPaid.length; i++) {
+                expectedPaid[i] = BigDecimal.ZERO.setScale(2);
+            }
+
+            // A run of payments against the same schedule, some partial, some spanning installments
+            BigDecimal outstanding = amortizationEngine.totalRepayable(loan).toBigDecimal();
+            while (outstanding.signum() > 0) {
+                BigDecimal payment = randomPayment(random, installments.get(0).getAmount().toBigDecimal()).min(outstanding);
+                BigDecimal expectedRemaining = referenceAllocate(installments, expectedPaid, payment);
+                Money remaining = amortizationEngine.allocate(open(installments), Money.ofExact(payment), APPROVED);
+
+                assertEquals(expectedRemaining, remaining.toBigDecimal(), loan::toString);
+                for (int i = 0; i < expectedPaid.length; i++) {
+                    Repayment installment = installments.get(i);
+                    assertEquals(expectedPaid[i], installment.getPaidAmount().toBigDecimal(), loan::toString);
+                    assertEquals(expectedPaid[i].compareTo(installment.getAmount().toBigDecimal()) >= 0,
+                            installment.getStatus() == Repayment.RepaymentStatus.PAID, loan::toString);
+                }
+                outstanding = outstanding.subtract(payment);
+            }
+        }
+    }
+
+    private static Loan randomLoan(Random random, Loan.InterestMode mode) {
+        // Principal between 1,000.00 and 50,000,000.00; rates up to 36% with up to two decimals
+        long principalCents = 100_000L + (long) (random.nextDouble() * 5_000_000_000L);
+        long rateHundredths = random.nextInt(10) == 0 ? 0 : random.nextInt(3_600);
+        return Loan.builder()
+                .loanType(Loan.LoanType.PERSONAL)
+                .principalAmount(Money.ofCents(principalCents))
+                .interestRate(BigDecimal.valueOf(rateHundredths, 2))
+                .tenureMonths(1 + random.nextInt(360))
+                .interestMode(mode)
+                .status(Loan.LoanStatus.PENDING)
+                .build();
+    }
+
+    private static BigDecimal randomPayment(Random random, BigDecimal installment) {
+        BigDecimal scale = BigDecimal.valueOf(1 + random.nextInt(300), 2);
+        return installment.multiply(scale).setScale(2, RoundingMode.DOWN).max(new BigDecimal("0.01"));
+    }
+
+    private static List<Repayment> open(List<Repayment> installments) {
+        List<Repayment> open = new ArrayList<>();
+        for (Repayment installment : installments) {
+            if (installment.getStatus() != Repayment.RepaymentStatus.PAID) {
+                open.add(installment);
+            }
+        }
+        return open;
+    }
+
+    private static BigDecimal referenceFlatInterest(Loan loan) {
+        return loan.getPrincipalAmount().toBigDecimal()
+                .multiply(loan.getInterestRate())
+                .multiply(BigDecimal.valueOf(loan.getTenureMonths()))
+                .divide(MONTHS_TIMES_PERCENT, 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal referenceMonthlyRate(Loan loan) {
+        return loan.getInterestRate().divide(MONTHS_TIMES_PERCENT, RATE_PRECISION);
+    }
+
+    private static BigDecimal referenceEmi(Loan loan) {
+        BigDecimal principal = loan.getPrincipalAmount().toBigDecimal();
+        int months = loan.getTenureMonths();
+        BigDecimal rate = referenceMonthlyRate(loan);
+        if (rate.signum() == 0) {
+            return principal.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP);
+        }
+        BigDecimal factor = BigDecimal.ONE.add(rate).pow(months, RATE_PRECISION);
+        return principal.multiply(rate)
+                .multiply(factor)
+                .divide(factor.subtract(BigDecimal.ONE), 2, RoundingMode.HALF_UP);
+    }
+
+    // Each entry is {principal, interest}
+    private static List<BigDecimal[]> referenceEmiSchedule(Loan loan) {
+        int months = loan.getTenureMonths();
+        BigDecimal rate = referenceMonthlyRate(loan);
+        BigDecimal emi = referenceEmi(loan);
+        BigDecimal balance = loan.getPrincipalAmount().toBigDecimal();
+
+        List<BigDecimal[]> schedule = new ArrayList<>(months);
+        for (int i = 1; i <= months; i++) {
+            BigDecimal interest = balance.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal principal = i == months ? balance : emi.subtract(interest).min(balance);
+            balance = balance.subtract(principal);
+            schedule.add(new BigDecimal[] {principal, interest});
+        }
+        return schedule;
+    }
+
+    private static List<BigDecimal[]> referenceFlatSchedule(Loan loan) {
+        int months = loan.getTenureMonths();
+        BigDecimal principalAmount = loan.getPrincipalAmount().toBigDecimal();
+        BigDecimal totalInterest = referenceFlatInterest(loan);
+        BigDecimal monthlyPrincipal = principalAmount.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP);
+        BigDecimal monthlyInterest = totalInterest.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP);
+        BigDecimal lastMonths = BigDecimal.valueOf(months - 1L);
+
+        List<BigDecimal[]> schedule = new ArrayList<>(months);
+        for (int i = 1; i <= months; i++) {
+            boolean last = i == months;
+            BigDecimal principal = last ? principalAmount.subtract(monthlyPrincipal.multiply(lastMonths)) : monthlyPrincipal;
+            BigDecimal interest = last ? totalInterest.subtract(monthlyInterest.multiply(lastMonths)) : monthlyInterest;
+            schedule.add(new BigDecimal[] {principal, interest});
+        }
+        return schedule;
+    }
+
+    // Updates paid in place and returns what is left of the amount
+    private static BigDecimal referenceAllocate(List<Repayment> installments, BigDecimal[] paid, BigDecimal amount) {
+        BigDecimal remaining = amount;
+        for (int i = 0; i < installments.size(); i++) {
+            BigDecimal due = installments.get(i).getAmount().toBigDecimal();
+            if (paid[i].compareTo(due) >= 0) {
+                continue;
+            }
+            if (remaining.signum() == 0) {
+                break;
+            }
+            BigDecimal applied = remaining.min(due.subtract(paid[i]));
+            paid[i] = paid[i].add(applied);
+            remaining = remaining.subtract(applied);
+        }
+        return remaining;
+    }
+}